@@ -13,28 +13,38 @@ import wiki.creeper.farmGather.api.FarmGatherAPI;
 import wiki.creeper.farmGather.command.FarmGatherCommand;
 import wiki.creeper.farmGather.config.ConfigManager;
 import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.harvest.GroundDropAggregator;
 import wiki.creeper.farmGather.harvest.HarvestListener;
 import wiki.creeper.farmGather.harvest.HarvestManager;
 import wiki.creeper.farmGather.harvest.HarvestableRegistry;
+import wiki.creeper.farmGather.harvest.VirtualDropQueue;
 import wiki.creeper.farmGather.integration.GuildService;
 import wiki.creeper.farmGather.integration.NoGuildService;
+import wiki.creeper.farmGather.item.HeldHoeCache;
 import wiki.creeper.farmGather.item.ItemIdentityService;
 import wiki.creeper.farmGather.player.PlayerConnectionListener;
 import wiki.creeper.farmGather.player.ProfileManager;
 import wiki.creeper.farmGather.progression.ComboService;
 import wiki.creeper.farmGather.progression.ProgressionService;
+import wiki.creeper.farmGather.scheduler.DeadlineScheduler;
+import wiki.creeper.farmGather.skills.ChainHarvestEngine;
 import wiki.creeper.farmGather.skills.SkillManager;
 import wiki.creeper.farmGather.storage.InMemoryPlayerDataStore;
 import wiki.creeper.farmGather.storage.JdbcPlayerDataStore;
 import wiki.creeper.farmGather.storage.HybridPlayerDataStore;
 import wiki.creeper.farmGather.storage.PlayerDataStore;
 import wiki.creeper.farmGather.storage.RedisPlayerDataStore;
+import wiki.creeper.farmGather.storage.SequencedPlayerDataStore;
+import wiki.creeper.farmGather.storage.StorageExecutor;
 import wiki.creeper.farmGather.ui.ComboBossBarService;
 import wiki.creeper.farmGather.ui.CooldownUiService;
+import wiki.creeper.farmGather.ui.NotificationService;
+import wiki.creeper.farmGather.world.RegrowthService;
 import wiki.creeper.farmGather.world.WorldResetService;
 import wiki.creeper.farmGather.world.WorldRuleListener;
 
 public final class FarmGather extends JavaPlugin {
+    private static final int REDIS_POOL_SIZE = 16;
 
     private ConfigManager configManager;
     private PlayerDataStore playerDataStore;
@@ -44,12 +54,19 @@ public final class FarmGather extends JavaPlugin {
     private HarvestableRegistry harvestableRegistry;
     private GuildService guildService;
     private HarvestManager harvestManager;
+    private GroundDropAggregator groundDropAggregator;
+    private VirtualDropQueue virtualDropQueue;
     private SkillManager skillManager;
+    private ChainHarvestEngine chainHarvestEngine;
     private WorldRuleListener worldRuleListener;
+    private DeadlineScheduler deadlineScheduler;
     private ComboBossBarService comboBossBarService;
     private WorldResetService worldResetService;
+    private RegrowthService regrowthService;
+    private HeldHoeCache heldHoeCache;
     private ItemIdentityService itemIdentityService;
     private CooldownUiService cooldownUiService;
+    private NotificationService notificationService;
 
     @Override
     public void onEnable() {
@@ -67,18 +84,34 @@ public final class FarmGather extends JavaPlugin {
 
     @Override
     public void onDisable() {
-        if (profileManager != null) {
-            profileManager.flushAllSync();
+        if (chainHarvestEngine != null) {
+            chainHarvestEngine.stop();
         }
         if (skillManager != null) {
             skillManager.stop();
         }
+        if (virtualDropQueue != null) {
+            virtualDropQueue.flushAll();
+        }
+        if (groundDropAggregator != null) {
+            groundDropAggregator.flushAll();
+        }
+        if (regrowthService != null) {
+            regrowthService.stop();
+        }
+        if (profileManager != null) {
+            profileManager.stop();
+            profileManager.flushAllSync();
+        }
         if (comboBossBarService != null) {
             comboBossBarService.stop();
         }
         if (cooldownUiService != null) {
             cooldownUiService.stop();
         }
+        if (deadlineScheduler != null) {
+            deadlineScheduler.stop();
+        }
         if (playerDataStore != null) {
             playerDataStore.close().join();
         }
@@ -93,12 +126,13 @@ public final class FarmGather extends JavaPlugin {
 
     private void setupStorage() {
         PluginConfig.StorageConfig storageConfig = configManager.getConfig().storage();
-        this.playerDataStore = switch (storageConfig.type()) {
+        PlayerDataStore store = switch (storageConfig.type()) {
             case MYSQL -> createMysqlStore(storageConfig.mysql());
             case REDIS -> createRedisStore(storageConfig.redis());
             case HYBRID -> createHybridStore(storageConfig.mysql(), storageConfig.redis());
             case MEMORY -> new InMemoryPlayerDataStore();
         };
+        this.playerDataStore = new SequencedPlayerDataStore(store);
     }
 
     private PlayerDataStore createMysqlStore(PluginConfig.StorageConfig.MysqlConfig config) {
@@ -169,10 +203,23 @@ public final class FarmGather extends JavaPlugin {
         hikariConfig.setIdleTimeout(config.pool().idleTimeoutMs());
         hikariConfig.setPoolName("FarmGather-MySQL");
 
+        StorageExecutor executor = createStorageExecutor("FarmGather-DB", 1, config.pool().maximumPoolSize());
         try {
             HikariDataSource dataSource = new HikariDataSource(hikariConfig);
-            return new JdbcPlayerDataStore(JdbcPlayerDataStore.Dialect.MYSQL, dataSource::getConnection, dataSource::close);
+            PluginConfig.StorageConfig.MysqlConfig.WriteBehindConfig writeBehind = config.writeBehind();
+            JdbcPlayerDataStore.WriteBehindSettings writeBehindSettings = new JdbcPlayerDataStore.WriteBehindSettings(
+                    writeBehind.enabled(),
+                    writeBehind.flushIntervalMs(),
+                    writeBehind.maxBatchSize()
+            );
+            return new JdbcPlayerDataStore(JdbcPlayerDataStore.Dialect.MYSQL,
+                    dataSource::getConnection,
+                    dataSource::close,
+                    writeBehindSettings,
+                    config.profileBlob(),
+                    executor);
         } catch (Exception ex) {
+            executor.shutdownNow();
             getLogger().log(java.util.logging.Level.WARNING, "Failed to initialise MySQL pool", ex);
             return null;
         }
@@ -185,7 +232,7 @@ public final class FarmGather extends JavaPlugin {
         }
 
         JedisPoolConfig poolConfig = new JedisPoolConfig();
-        poolConfig.setMaxTotal(16);
+        poolConfig.setMaxTotal(REDIS_POOL_SIZE);
         poolConfig.setMinIdle(1);
         poolConfig.setMaxIdle(8);
 
@@ -203,40 +250,65 @@ public final class FarmGather extends JavaPlugin {
         try {
             HostAndPort hostAndPort = new HostAndPort(config.host(), config.port());
             JedisPool pool = new JedisPool(poolConfig, hostAndPort, clientConfig);
-            return new RedisPlayerDataStore(pool);
+            RedisPlayerDataStore.Format format = config.format() == PluginConfig.StorageConfig.RedisConfig.ProfileFormat.BINARY
+                    ? RedisPlayerDataStore.Format.BINARY
+                    : RedisPlayerDataStore.Format.HASH;
+            return new RedisPlayerDataStore(pool, format, createStorageExecutor("FarmGather-Redis", 2, REDIS_POOL_SIZE), getLogger());
         } catch (Exception ex) {
             getLogger().log(java.util.logging.Level.WARNING, "Failed to initialise Redis pool", ex);
             return null;
         }
     }
 
+    private StorageExecutor createStorageExecutor(String threadName, int platformThreads, int poolSize) {
+        StorageExecutor.Mode mode = configManager.getConfig().storage().executorMode() == PluginConfig.StorageConfig.ExecutorMode.VIRTUAL
+                ? StorageExecutor.Mode.VIRTUAL
+                : StorageExecutor.Mode.PLATFORM;
+        return StorageExecutor.create(mode, threadName, platformThreads, poolSize);
+    }
+
     private void setupManagers() {
-        this.profileManager = new ProfileManager(playerDataStore);
         PluginConfig pluginConfig = configManager.getConfig();
+        this.profileManager = new ProfileManager(this, playerDataStore, pluginConfig.storage().autosave());
+        this.profileManager.start();
         this.comboService = new ComboService(pluginConfig.combo());
         this.progressionService = new ProgressionService(pluginConfig.progression());
         this.harvestableRegistry = new HarvestableRegistry(this);
         this.guildService = new NoGuildService();
-        this.comboBossBarService = new ComboBossBarService(this, progressionService);
+        this.deadlineScheduler = new DeadlineScheduler(this);
+        this.deadlineScheduler.start();
+        this.comboBossBarService = new ComboBossBarService(this, progressionService, deadlineScheduler);
         this.comboBossBarService.reload(pluginConfig);
-        this.comboBossBarService.start();
-        this.harvestManager = new HarvestManager(this, profileManager, comboService, progressionService, harvestableRegistry, guildService, comboBossBarService);
-        this.skillManager = new SkillManager(this, profileManager, pluginConfig.skills());
-        this.skillManager.start();
+        this.heldHoeCache = new HeldHoeCache(this);
+        this.notificationService = new NotificationService(pluginConfig.notifications());
+        this.groundDropAggregator = new GroundDropAggregator(this, deadlineScheduler, pluginConfig.harvest().drop());
+        this.virtualDropQueue = new VirtualDropQueue(this, deadlineScheduler, groundDropAggregator, notificationService, pluginConfig.harvest().drop());
+        this.harvestManager = new HarvestManager(this, profileManager, comboService, progressionService, harvestableRegistry, guildService, comboBossBarService, heldHoeCache, notificationService, groundDropAggregator, virtualDropQueue);
+        this.chainHarvestEngine = new ChainHarvestEngine(this, harvestableRegistry, pluginConfig.skills().shears());
+        this.chainHarvestEngine.start();
+        this.skillManager = new SkillManager(this, profileManager, heldHoeCache, deadlineScheduler, chainHarvestEngine, pluginConfig.skills());
         this.worldRuleListener = new WorldRuleListener(this);
         this.worldResetService = new WorldResetService(this, pluginConfig.world());
+        this.regrowthService = new RegrowthService(this, pluginConfig.world().regrowth());
+        this.regrowthService.start();
         this.itemIdentityService = new ItemIdentityService(this, pluginConfig.itemIdentity());
-        this.cooldownUiService = new CooldownUiService(this, skillManager, pluginConfig.cooldownUi());
+        this.cooldownUiService = new CooldownUiService(this, skillManager, heldHoeCache, deadlineScheduler, pluginConfig.cooldownUi());
         this.cooldownUiService.start();
     }
 
     private void registerListeners() {
+        registerListener(heldHoeCache);
         registerListener(new PlayerConnectionListener(this, profileManager, comboBossBarService));
         registerListener(new HarvestListener(harvestManager));
+        registerListener(groundDropAggregator);
+        registerListener(virtualDropQueue);
         registerListener(skillManager);
+        registerListener(chainHarvestEngine);
         registerListener(worldRuleListener);
         registerListener(itemIdentityService);
         registerListener(cooldownUiService);
+        registerListener(deadlineScheduler);
+        registerListener(notificationService);
     }
 
     private void registerCommands() {
@@ -254,6 +326,10 @@ public final class FarmGather extends JavaPlugin {
         return configManager.getConfig();
     }
 
+    public PlayerDataStore getPlayerDataStore() {
+        return playerDataStore;
+    }
+
     public ProfileManager getProfileManager() {
         return profileManager;
     }
@@ -269,16 +345,23 @@ public final class FarmGather extends JavaPlugin {
     public void reloadPlugin() {
         configManager.reload();
         PluginConfig pluginConfig = configManager.getConfig();
+        profileManager.reload(pluginConfig.storage().autosave());
         comboService.reload(pluginConfig.combo());
         progressionService.reload(pluginConfig.progression());
         harvestManager.reload(pluginConfig);
+        groundDropAggregator.reload(pluginConfig.harvest().drop());
+        virtualDropQueue.reload(pluginConfig.harvest().drop());
         skillManager.reload(pluginConfig.skills());
+        chainHarvestEngine.reload(pluginConfig.skills().shears());
         worldRuleListener.reload(pluginConfig);
         comboBossBarService.reload(pluginConfig);
         worldResetService.reload(pluginConfig.world());
+        regrowthService.reload(pluginConfig.world().regrowth());
         itemIdentityService.reload(pluginConfig.itemIdentity());
+        heldHoeCache.clear();
         getServer().getOnlinePlayers().forEach(player -> itemIdentityService.ensureInventoryTagged(player));
         cooldownUiService.reload(pluginConfig.cooldownUi());
+        notificationService.reload(pluginConfig.notifications());
     }
 
     private void registerListener(Listener listener) {
@@ -293,6 +376,14 @@ public final class FarmGather extends JavaPlugin {
         return comboService;
     }
 
+    public DeadlineScheduler getDeadlineScheduler() {
+        return deadlineScheduler;
+    }
+
+    public RegrowthService getRegrowthService() {
+        return regrowthService;
+    }
+
     public ComboBossBarService getComboBossBarService() {
         return comboBossBarService;
     }
@@ -301,6 +392,10 @@ public final class FarmGather extends JavaPlugin {
         return worldResetService;
     }
 
+    public HeldHoeCache getHeldHoeCache() {
+        return heldHoeCache;
+    }
+
     public ItemIdentityService getItemIdentityService() {
         return itemIdentityService;
     }
@@ -308,4 +403,8 @@ public final class FarmGather extends JavaPlugin {
     public CooldownUiService getCooldownUiService() {
         return cooldownUiService;
     }
+
+    public NotificationService getNotificationService() {
+        return notificationService;
+    }
 }
@@ -16,6 +16,7 @@ import org.bukkit.Material;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.player.HoeSkillType;
 import wiki.creeper.farmGather.player.PlayerProfile;
+import wiki.creeper.farmGather.player.ProfileManager;
 import wiki.creeper.farmGather.util.ItemUtil;
 import wiki.creeper.farmGather.util.Text;
 
@@ -75,6 +76,12 @@ public class FarmGatherCommand implements CommandExecutor, TabCompleter {
                 }
                 handleWorld(sender, args);
             }
+            case "storage" -> {
+                if (requireAdmin(sender, isAdmin)) {
+                    return true;
+                }
+                handleStorage(sender);
+            }
             default -> sender.sendMessage(Text.colorize("&c알 수 없는 하위 명령입니다. /fg help 를 확인하세요."));
         }
         return true;
@@ -85,7 +92,7 @@ public class FarmGatherCommand implements CommandExecutor, TabCompleter {
         boolean isAdmin = sender.hasPermission("farmgather.admin");
         if (args.length == 1) {
             if (isAdmin) {
-                return List.of("reload", "givehoe", "givebasic", "xp", "level", "stats", "world");
+                return List.of("reload", "givehoe", "givebasic", "xp", "level", "stats", "world", "storage");
             }
             return List.of("stats");
         }
@@ -145,6 +152,7 @@ public class FarmGatherCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(Text.colorize("&e/fg xp <player> <add|get> [amount] &7- 경험치 관리 (관리자)"));
         sender.sendMessage(Text.colorize("&e/fg level <player> <set|add|get> [값] &7- 레벨 관리 (관리자)"));
         sender.sendMessage(Text.colorize("&e/fg world reset now &7- 채집 월드를 즉시 리셋 (관리자)"));
+        sender.sendMessage(Text.colorize("&e/fg storage &7- 저장 대기열 상태를 확인합니다. (관리자)"));
         sender.sendMessage(Text.colorize("&e/fg reload &7- 설정을 다시 불러옵니다. (관리자)"));
     }
 
@@ -193,6 +201,7 @@ public class FarmGatherCommand implements CommandExecutor, TabCompleter {
         ItemUtil.applyHoeSkill(hoe, type, level, plugin, target.getUniqueId());
 
         Map<Integer, ItemStack> leftovers = target.getInventory().addItem(hoe);
+        plugin.getHeldHoeCache().invalidate(target);
         if (!leftovers.isEmpty()) {
             leftovers.values().forEach(stack -> target.getWorld().dropItemNaturally(target.getLocation(), stack));
         }
@@ -216,6 +225,7 @@ public class FarmGatherCommand implements CommandExecutor, TabCompleter {
         }
         ItemStack hoe = ItemUtil.createBasicHoe(plugin, target.getUniqueId());
         Map<Integer, ItemStack> leftovers = target.getInventory().addItem(hoe);
+        plugin.getHeldHoeCache().invalidate(target);
         leftovers.values().forEach(stack -> target.getWorld().dropItemNaturally(target.getLocation(), stack));
         target.sendMessage(Text.colorize("&a기본 채집 호미를 받았습니다."));
         if (sender != target) {
@@ -362,6 +372,18 @@ public class FarmGatherCommand implements CommandExecutor, TabCompleter {
         plugin.getWorldResetService().resetNow(sender);
     }
 
+    private void handleStorage(CommandSender sender) {
+        var store = plugin.getPlayerDataStore();
+        sender.sendMessage(Text.colorize(String.format("&e저장 대기열: &a%d건&7, 가장 오래된 쓰기: &a%dms",
+                store.pendingWriteCount(), store.oldestPendingWriteAgeMillis())));
+        ProfileManager.AutosaveStats stats = plugin.getProfileManager().getAutosaveStats();
+        sender.sendMessage(Text.colorize(String.format("&e자동 저장: %s&7, 저장 &a%d건&7, 실패 &c%d건&7, 진행 중 &a%d건&7, 지연 &a%d틱",
+                stats.enabled() ? "&a켜짐" : "&c꺼짐",
+                stats.saved(), stats.failed(), stats.inFlight(), stats.deferredTicks())));
+        sender.sendMessage(Text.colorize(String.format("&e자동 저장 지연 시간: 평균 &a%dms&7, 최대 &a%dms",
+                stats.averageLatencyMillis(), stats.maxLatencyMillis())));
+    }
+
     private void flushProfileOrWarn(CommandSender sender, UUID uuid) {
         try {
             plugin.getProfileManager().flush(uuid).join();
@@ -1,11 +1,13 @@
 package wiki.creeper.farmGather.config;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
+import wiki.creeper.farmGather.progression.XpFormula;
 
 public class ConfigManager {
     private final JavaPlugin plugin;
@@ -68,7 +70,8 @@ public class ConfigManager {
         PluginConfig.HarvestConfig.DropConfig dropConfig = new PluginConfig.HarvestConfig.DropConfig(
                 dropSection.getString("mode", "VIRTUAL"),
                 dropSection.getDouble("ground_merge_radius"),
-                dropSection.getInt("stack_merge_count")
+                dropSection.getInt("stack_merge_count"),
+                dropSection.getInt("virtual_delivery_ticks", 1)
         );
 
         ConfigurationSection antiMacroSection = getSection(section, "anti_macro");
@@ -78,7 +81,23 @@ public class ConfigManager {
                 antiMacroSection.getLong("jitter_ms")
         );
 
-        return new PluginConfig.HarvestConfig(worlds, harvestableTags, actionCooldown, dropConfig, antiMacroConfig);
+        Map<String, PluginConfig.HarvestConfig.MaterialRule> materialRules = new LinkedHashMap<>();
+        ConfigurationSection materialsSection = section.getConfigurationSection("materials");
+        if (materialsSection != null) {
+            for (String key : materialsSection.getKeys(false)) {
+                ConfigurationSection ruleSection = materialsSection.getConfigurationSection(key);
+                if (ruleSection == null) {
+                    continue;
+                }
+                materialRules.put(key, new PluginConfig.HarvestConfig.MaterialRule(
+                        ruleSection.getDouble("xp_weight", 1.0),
+                        ruleSection.getString("regrowth", "NONE")
+                ));
+            }
+        }
+
+        return new PluginConfig.HarvestConfig(worlds, harvestableTags, actionCooldown, dropConfig, antiMacroConfig,
+                Collections.unmodifiableMap(materialRules));
     }
 
     private PluginConfig.ComboConfig parseCombo(ConfigurationSection section) {
@@ -158,7 +177,8 @@ public class ConfigManager {
                 shearsSection.getInt("max_chain_targets"),
                 shearsSection.getDouble("hop_delay_sec"),
                 shearsSection.getInt("xp_first"),
-                shearsSection.getInt("xp_others")
+                shearsSection.getInt("xp_others"),
+                shearsSection.getInt("tick_block_budget", 32)
         );
 
         ConfigurationSection doubleTapSection = getSection(section, "doubletap");
@@ -183,10 +203,46 @@ public class ConfigManager {
             rawPiecewise.add(converted);
         }
         List<PluginConfig.ProgressionConfig.PiecewiseEntry> entries = PluginConfig.BuilderUtil.buildPiecewise(rawPiecewise);
+        List<XpFormula> formulas = new java.util.ArrayList<>(entries.size());
+        for (PluginConfig.ProgressionConfig.PiecewiseEntry entry : entries) {
+            try {
+                formulas.add(XpFormula.compile(entry.formula()));
+            } catch (IllegalArgumentException ex) {
+                throw new PluginConfig.ConfigLoadException("Invalid progression formula: " + ex.getMessage(), ex);
+            }
+        }
         double globalMultiplier = section.getDouble("global_cost_multiplier");
+        validateProgressionCosts(cap, entries, formulas, globalMultiplier);
         return new PluginConfig.ProgressionConfig(cap, entries, globalMultiplier);
     }
 
+    // Evaluates every level once so a formula such as "L-50" or "100/(L-5)" fails the load instead of
+    // producing a free or unreachable level at runtime.
+    private void validateProgressionCosts(int cap,
+                                          List<PluginConfig.ProgressionConfig.PiecewiseEntry> entries,
+                                          List<XpFormula> formulas,
+                                          double globalMultiplier) {
+        for (int level = 1; level < cap; level++) {
+            int index = -1;
+            for (int i = 0; i < entries.size(); i++) {
+                PluginConfig.ProgressionConfig.PiecewiseEntry.Range range = entries.get(i).range();
+                if (level >= range.min() && level <= range.max()) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                throw new PluginConfig.ConfigLoadException("No progression piecewise range covers level " + level);
+            }
+            PluginConfig.ProgressionConfig.PiecewiseEntry entry = entries.get(index);
+            double cost = formulas.get(index).evaluate(level) * entry.scale() * globalMultiplier;
+            if (!Double.isFinite(cost) || cost <= 0) {
+                throw new PluginConfig.ConfigLoadException("Progression cost for level " + level + " must be finite and positive, got "
+                        + cost + " from formula '" + entry.formula() + "'");
+            }
+        }
+    }
+
     private PluginConfig.WorldConfig parseWorld(ConfigurationSection section) {
         ConfigurationSection resetSection = getSection(section, "reset");
         PluginConfig.WorldConfig.WorldResetConfig resetConfig = new PluginConfig.WorldConfig.WorldResetConfig(
@@ -197,9 +253,18 @@ public class ConfigManager {
                 resetSection.getBoolean("pregenerate"),
                 resetSection.getInt("border_radius")
         );
+        ConfigurationSection regrowthSection = getSection(section, "regrowth");
+        PluginConfig.WorldConfig.RegrowthConfig regrowthConfig = new PluginConfig.WorldConfig.RegrowthConfig(
+                regrowthSection.getBoolean("enabled", true),
+                regrowthSection.getDouble("fast_sec", 60.0),
+                regrowthSection.getDouble("normal_sec", 300.0),
+                regrowthSection.getDouble("slow_sec", 900.0),
+                Math.max(1, regrowthSection.getInt("blocks_per_tick", 64)),
+                Math.max(0, regrowthSection.getInt("save_interval_sec", 300))
+        );
         List<String> whitelist = section.getStringList("command_whitelist");
         whitelist.replaceAll(cmd -> cmd.toLowerCase(java.util.Locale.ROOT));
-        return new PluginConfig.WorldConfig(resetConfig, whitelist);
+        return new PluginConfig.WorldConfig(resetConfig, regrowthConfig, whitelist);
     }
 
     private PluginConfig.UiConfig parseUi(ConfigurationSection section) {
@@ -280,7 +345,8 @@ public class ConfigManager {
                 section.getString("harvest_denied"),
                 section.getString("inventory_full"),
                 section.getString("energy_missing"),
-                section.getString("cooldown_active")
+                section.getString("cooldown_active"),
+                Math.max(0L, section.getLong("dedupe_window_ms", 1500L))
         );
     }
 
@@ -301,27 +367,70 @@ public class ConfigManager {
                 poolSection != null ? poolSection.getLong("connection_timeout_ms", 30_000L) : 30_000L,
                 poolSection != null ? poolSection.getLong("idle_timeout_ms", 600_000L) : 600_000L
         );
+        ConfigurationSection writeBehindSection = mysqlSection.getConfigurationSection("write_behind");
+        PluginConfig.StorageConfig.MysqlConfig.WriteBehindConfig writeBehindConfig = new PluginConfig.StorageConfig.MysqlConfig.WriteBehindConfig(
+                writeBehindSection != null && writeBehindSection.getBoolean("enabled", false),
+                writeBehindSection != null ? writeBehindSection.getLong("flush_interval_ms", 1_000L) : 1_000L,
+                writeBehindSection != null ? writeBehindSection.getInt("max_batch_size", 100) : 100
+        );
         PluginConfig.StorageConfig.MysqlConfig mysqlConfig = new PluginConfig.StorageConfig.MysqlConfig(
                 mysqlSection.getString("host", "localhost"),
                 mysqlSection.getInt("port", 3306),
                 mysqlSection.getString("database", "farmgather"),
                 mysqlSection.getString("username", "root"),
                 mysqlSection.getString("password", ""),
-                mysqlSection.getString("params", "useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=UTF-8"),
-                poolConfig
+                mysqlSection.getString("params", "useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=UTF-8&rewriteBatchedStatements=true"),
+                poolConfig,
+                writeBehindConfig,
+                mysqlSection.getBoolean("profile_blob", false)
         );
 
         ConfigurationSection redisSection = getSection(section, "redis");
+        String formatValue = redisSection.getString("format", "HASH");
+        PluginConfig.StorageConfig.RedisConfig.ProfileFormat redisFormat;
+        try {
+            redisFormat = PluginConfig.StorageConfig.RedisConfig.ProfileFormat.valueOf(formatValue.toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new PluginConfig.ConfigLoadException("Unknown redis profile format: " + formatValue, ex);
+        }
         PluginConfig.StorageConfig.RedisConfig redisConfig = new PluginConfig.StorageConfig.RedisConfig(
                 redisSection.getString("host", "localhost"),
                 redisSection.getInt("port", 6379),
                 redisSection.getString("password", ""),
                 redisSection.getInt("database", 0),
                 redisSection.getBoolean("ssl", false),
-                redisSection.getInt("timeout_ms", 2000)
+                redisSection.getInt("timeout_ms", 2000),
+                redisFormat
+        );
+
+        ConfigurationSection prefetchSection = section.getConfigurationSection("prefetch");
+        PluginConfig.StorageConfig.PrefetchConfig prefetchConfig = new PluginConfig.StorageConfig.PrefetchConfig(
+                prefetchSection == null || prefetchSection.getBoolean("enabled", true),
+                prefetchSection != null ? prefetchSection.getLong("timeout_ms", 3_000L) : 3_000L,
+                prefetchSection != null ? prefetchSection.getLong("staging_ttl_ms", 30_000L) : 30_000L,
+                prefetchSection != null && prefetchSection.getBoolean("deny_on_timeout", false),
+                prefetchSection != null
+                        ? prefetchSection.getString("deny_message", "&c플레이어 데이터를 불러오지 못했습니다. 잠시 후 다시 접속해주세요.")
+                        : "&c플레이어 데이터를 불러오지 못했습니다. 잠시 후 다시 접속해주세요."
         );
 
-        return new PluginConfig.StorageConfig(type, mysqlConfig, redisConfig);
+        ConfigurationSection autosaveSection = section.getConfigurationSection("autosave");
+        PluginConfig.StorageConfig.AutosaveConfig autosaveConfig = new PluginConfig.StorageConfig.AutosaveConfig(
+                autosaveSection == null || autosaveSection.getBoolean("enabled", true),
+                Math.max(1L, (autosaveSection != null ? autosaveSection.getLong("interval_seconds", 300L) : 300L) * 20L),
+                autosaveSection != null ? autosaveSection.getInt("max_pending_writes", 500) : 500
+        );
+
+        ConfigurationSection executorSection = section.getConfigurationSection("executor");
+        String executorValue = executorSection != null ? executorSection.getString("mode", "PLATFORM") : "PLATFORM";
+        PluginConfig.StorageConfig.ExecutorMode executorMode;
+        try {
+            executorMode = PluginConfig.StorageConfig.ExecutorMode.valueOf(executorValue.toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new PluginConfig.ConfigLoadException("Unknown storage executor mode: " + executorValue, ex);
+        }
+
+        return new PluginConfig.StorageConfig(type, mysqlConfig, redisConfig, prefetchConfig, autosaveConfig, executorMode);
     }
 
     private ConfigurationSection getSection(ConfigurationSection root, String path) {
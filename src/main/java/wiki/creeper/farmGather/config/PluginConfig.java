@@ -169,9 +169,12 @@ public class PluginConfig {
             List<String> harvestableTags,
             double actionCooldownSec,
             DropConfig drop,
-            AntiMacroConfig antiMacro
+            AntiMacroConfig antiMacro,
+            Map<String, MaterialRule> materials
     ) {
-        public record DropConfig(String mode, double groundMergeRadius, int stackMergeCount) {}
+        public record MaterialRule(double xpWeight, String regrowth) {}
+
+        public record DropConfig(String mode, double groundMergeRadius, int stackMergeCount, int virtualDeliveryTicks) {}
 
         public record AntiMacroConfig(double viewAngleDeg, double maxDistance, long jitterMs) {}
     }
@@ -179,8 +182,16 @@ public class PluginConfig {
     public record StorageConfig(
             StorageType type,
             MysqlConfig mysql,
-            RedisConfig redis
+            RedisConfig redis,
+            PrefetchConfig prefetch,
+            AutosaveConfig autosave,
+            ExecutorMode executorMode
     ) {
+        public enum ExecutorMode {
+            PLATFORM,
+            VIRTUAL
+        }
+
         public enum StorageType {
             MYSQL,
             REDIS,
@@ -195,7 +206,9 @@ public class PluginConfig {
                 String username,
                 String password,
                 String params,
-                PoolConfig pool
+                PoolConfig pool,
+                WriteBehindConfig writeBehind,
+                boolean profileBlob
         ) {
             public record PoolConfig(
                     int maximumPoolSize,
@@ -203,6 +216,12 @@ public class PluginConfig {
                     long connectionTimeoutMs,
                     long idleTimeoutMs
             ) {}
+
+            public record WriteBehindConfig(
+                    boolean enabled,
+                    long flushIntervalMs,
+                    int maxBatchSize
+            ) {}
         }
 
         public record RedisConfig(
@@ -211,7 +230,27 @@ public class PluginConfig {
                 String password,
                 int database,
                 boolean ssl,
-                int timeoutMs
+                int timeoutMs,
+                ProfileFormat format
+        ) {
+            public enum ProfileFormat {
+                HASH,
+                BINARY
+            }
+        }
+
+        public record PrefetchConfig(
+                boolean enabled,
+                long timeoutMs,
+                long stagingTtlMs,
+                boolean denyOnTimeout,
+                String denyMessage
+        ) {}
+
+        public record AutosaveConfig(
+                boolean enabled,
+                long intervalTicks,
+                int maxPendingWrites
         ) {}
     }
 
@@ -286,7 +325,8 @@ public class PluginConfig {
                 int maxChainTargets,
                 double hopDelaySec,
                 int xpFirst,
-                int xpOthers
+                int xpOthers,
+                int tickBlockBudget
         ) {}
 
         public record DoubleTapConfig(
@@ -307,7 +347,7 @@ public class PluginConfig {
         }
     }
 
-    public record WorldConfig(WorldResetConfig reset, List<String> commandWhitelist) {
+    public record WorldConfig(WorldResetConfig reset, RegrowthConfig regrowth, List<String> commandWhitelist) {
         public record WorldResetConfig(
                 String schedule,
                 int preNoticeMin,
@@ -316,6 +356,15 @@ public class PluginConfig {
                 boolean pregenerate,
                 int borderRadius
         ) {}
+
+        public record RegrowthConfig(
+                boolean enabled,
+                double fastSec,
+                double normalSec,
+                double slowSec,
+                int blocksPerTick,
+                int saveIntervalSec
+        ) {}
     }
 
     public record UiConfig(
@@ -377,7 +426,8 @@ public class PluginConfig {
             String harvestDenied,
             String inventoryFull,
             String energyMissing,
-            String cooldownActive
+            String cooldownActive,
+            long dedupeWindowMs
     ) {}
 
     public static ProgressionConfig.PiecewiseEntry.Range parseRange(List<Integer> rangeList) {
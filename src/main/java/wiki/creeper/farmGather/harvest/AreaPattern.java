@@ -0,0 +1,51 @@
+package wiki.creeper.farmGather.harvest;
+
+import java.util.Arrays;
+
+/**
+ * Block offsets of a {@code width} x {@code depth} rectangle around its centre, ordered nearest first.
+ * Built once per configured area size so {@link HarvestManager#collectArea} only walks the order.
+ */
+public final class AreaPattern {
+    private final int[] dx;
+    private final int[] dz;
+
+    private AreaPattern(int[] dx, int[] dz) {
+        this.dx = dx;
+        this.dz = dz;
+    }
+
+    public static AreaPattern of(int width, int depth) {
+        int centerX = (width - 1) / 2;
+        int centerZ = (depth - 1) / 2;
+        int cells = width * depth;
+        // squared distance in the high half, row-major index in the low half: ties stay in row-major order
+        long[] keys = new long[cells];
+        for (int i = 0; i < cells; i++) {
+            long offsetX = i % width - centerX;
+            long offsetZ = i / width - centerZ;
+            keys[i] = (offsetX * offsetX + offsetZ * offsetZ) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] dx = new int[cells];
+        int[] dz = new int[cells];
+        for (int n = 0; n < cells; n++) {
+            int i = (int) keys[n];
+            dx[n] = i % width - centerX;
+            dz[n] = i / width - centerZ;
+        }
+        return new AreaPattern(dx, dz);
+    }
+
+    public int size() {
+        return dx.length;
+    }
+
+    public int dx(int index) {
+        return dx[index];
+    }
+
+    public int dz(int index) {
+        return dz[index];
+    }
+}
@@ -0,0 +1,172 @@
+package wiki.creeper.farmGather.harvest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Location;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.scheduler.DeadlineScheduler;
+import wiki.creeper.farmGather.util.ItemUtil;
+
+/**
+ * Collects ground drops per player so fast harvesting does not leave one item entity per stack per
+ * harvest. Stacks are first merged into item entities this service recently dropped for the same player
+ * within {@code ground_merge_radius}; the rest is buffered and spawned as one entity per distinct stack
+ * after {@code stack_merge_count} harvests or {@value #MAX_BUFFER_TICKS} ticks, whichever comes first.
+ * Every method must be called from the main thread.
+ */
+public class GroundDropAggregator implements Listener {
+    private static final String FLUSH_CHANNEL = "ground-drops";
+    private static final long MAX_BUFFER_TICKS = 20L;
+    private static final int MAX_TRACKED_ENTITIES = 8;
+
+    private final FarmGather plugin;
+    private final DeadlineScheduler deadlines;
+    private final Map<UUID, PlayerDrops> drops = new ConcurrentHashMap<>();
+
+    private double mergeRadiusSquared;
+    private int harvestsPerFlush;
+
+    public GroundDropAggregator(FarmGather plugin, DeadlineScheduler deadlines, PluginConfig.HarvestConfig.DropConfig config) {
+        this.plugin = plugin;
+        this.deadlines = deadlines;
+        reload(config);
+    }
+
+    public void reload(PluginConfig.HarvestConfig.DropConfig config) {
+        double radius = Math.max(0.0, config.groundMergeRadius());
+        this.mergeRadiusSquared = radius * radius;
+        this.harvestsPerFlush = Math.max(1, config.stackMergeCount());
+    }
+
+    /**
+     * Hands the stacks of one harvest to the aggregator. They end up on the ground at the player's
+     * current position, either merged into a nearby entity right away or with a later flush.
+     */
+    public void offer(Player player, List<ItemStack> stacks) {
+        if (stacks.isEmpty()) {
+            return;
+        }
+        PlayerDrops state = drops.computeIfAbsent(player.getUniqueId(), key -> new PlayerDrops());
+        Location location = player.getLocation().add(0, 0.5, 0);
+        for (ItemStack stack : stacks) {
+            if (stack == null || stack.getType().isAir()) {
+                continue;
+            }
+            ItemStack remaining = mergeIntoTracked(state, location, stack.clone());
+            if (remaining != null) {
+                ItemUtil.mergeStack(state.buffer, remaining);
+            }
+        }
+        if (state.buffer.isEmpty()) {
+            return;
+        }
+        if (state.location == null) {
+            state.location = location;
+        }
+        state.harvests++;
+        if (state.harvests >= harvestsPerFlush) {
+            flush(player.getUniqueId());
+        } else if (!deadlines.isPending(player.getUniqueId(), FLUSH_CHANNEL)) {
+            UUID playerId = player.getUniqueId();
+            deadlines.scheduleTicks(playerId, FLUSH_CHANNEL, MAX_BUFFER_TICKS, () -> flush(playerId));
+        }
+    }
+
+    /**
+     * Spawns everything still buffered for every player.
+     */
+    public void flushAll() {
+        for (UUID playerId : List.copyOf(drops.keySet())) {
+            flush(playerId);
+        }
+        drops.clear();
+    }
+
+    // Before the deadline scheduler drops pending flushes on quit.
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        flush(playerId);
+        drops.remove(playerId);
+    }
+
+    private void flush(UUID playerId) {
+        deadlines.cancel(playerId, FLUSH_CHANNEL);
+        PlayerDrops state = drops.get(playerId);
+        if (state == null || state.buffer.isEmpty() || state.location == null) {
+            return;
+        }
+        Location location = state.location;
+        for (ItemStack stack : state.buffer) {
+            Item item = location.getWorld().dropItem(location, stack, entity -> {
+                entity.setCanPlayerPickup(true);
+                entity.setOwner(playerId);
+                entity.setThrower(playerId);
+                entity.setPickupDelay(10);
+                entity.setVelocity(new Vector(0, 0.1, 0));
+            });
+            track(state, item);
+        }
+        state.buffer.clear();
+        state.harvests = 0;
+        state.location = null;
+    }
+
+    private ItemStack mergeIntoTracked(PlayerDrops state, Location location, ItemStack stack) {
+        Iterator<Item> iterator = state.tracked.iterator();
+        while (iterator.hasNext()) {
+            Item item = iterator.next();
+            if (!item.isValid()) {
+                iterator.remove();
+                continue;
+            }
+            if (item.getWorld() != location.getWorld() || item.getLocation().distanceSquared(location) > mergeRadiusSquared) {
+                continue;
+            }
+            ItemStack existing = item.getItemStack();
+            if (!existing.isSimilar(stack)) {
+                continue;
+            }
+            int room = existing.getMaxStackSize() - existing.getAmount();
+            if (room <= 0) {
+                continue;
+            }
+            int moved = Math.min(room, stack.getAmount());
+            existing.setAmount(existing.getAmount() + moved);
+            item.setItemStack(existing);
+            item.setTicksLived(1);
+            stack.setAmount(stack.getAmount() - moved);
+            if (stack.getAmount() <= 0) {
+                return null;
+            }
+        }
+        return stack;
+    }
+
+    private void track(PlayerDrops state, Item item) {
+        if (state.tracked.size() >= MAX_TRACKED_ENTITIES) {
+            state.tracked.remove(0);
+        }
+        state.tracked.add(item);
+    }
+
+    private static final class PlayerDrops {
+        private final List<ItemStack> buffer = new ArrayList<>();
+        private final List<Item> tracked = new ArrayList<>();
+        private Location location;
+        private int harvests;
+    }
+}
@@ -4,22 +4,20 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
-import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.Vector;
 import org.bukkit.event.inventory.InventoryType;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.api.event.FarmGatherHarvestEvent;
 import wiki.creeper.farmGather.config.PluginConfig;
 import wiki.creeper.farmGather.integration.GuildService;
+import wiki.creeper.farmGather.item.HeldHoeCache;
 import wiki.creeper.farmGather.player.HoeSkill;
 import wiki.creeper.farmGather.player.HoeSkillType;
 import wiki.creeper.farmGather.player.PlayerProfile;
@@ -27,8 +25,10 @@ import wiki.creeper.farmGather.player.ProfileManager;
 import wiki.creeper.farmGather.progression.ComboService;
 import wiki.creeper.farmGather.progression.ProgressionService;
 import wiki.creeper.farmGather.ui.ComboBossBarService;
+import wiki.creeper.farmGather.ui.NotificationService;
+import wiki.creeper.farmGather.util.HoeIdentity;
 import wiki.creeper.farmGather.util.ItemUtil;
-import wiki.creeper.farmGather.util.Text;
+import wiki.creeper.farmGather.world.RegrowthService;
 
 public class HarvestManager {
     private final FarmGather plugin;
@@ -38,6 +38,10 @@ public class HarvestManager {
     private final HarvestableRegistry harvestableRegistry;
     private final GuildService guildService;
     private final ComboBossBarService bossBarService;
+    private final HeldHoeCache heldHoeCache;
+    private final NotificationService notifications;
+    private final GroundDropAggregator groundDrops;
+    private final VirtualDropQueue virtualDrops;
 
     private PluginConfig config;
     private Set<String> harvestWorlds = new HashSet<>();
@@ -49,7 +53,11 @@ public class HarvestManager {
                           ProgressionService progressionService,
                           HarvestableRegistry harvestableRegistry,
                           GuildService guildService,
-                          ComboBossBarService bossBarService) {
+                          ComboBossBarService bossBarService,
+                          HeldHoeCache heldHoeCache,
+                          NotificationService notifications,
+                          GroundDropAggregator groundDrops,
+                          VirtualDropQueue virtualDrops) {
         this.plugin = plugin;
         this.profileManager = profileManager;
         this.comboService = comboService;
@@ -57,59 +65,62 @@ public class HarvestManager {
         this.harvestableRegistry = harvestableRegistry;
         this.guildService = guildService;
         this.bossBarService = bossBarService;
+        this.heldHoeCache = heldHoeCache;
+        this.notifications = notifications;
+        this.groundDrops = groundDrops;
+        this.virtualDrops = virtualDrops;
         reload(plugin.getPluginConfig());
     }
 
     public void reload(PluginConfig config) {
         this.config = config;
         this.harvestWorlds = new HashSet<>(config.harvest().worlds());
-        this.harvestableRegistry.rebuild(config.harvest().harvestableTags());
+        this.harvestableRegistry.rebuild(config.harvest().harvestableTags(), config.harvest().materials());
         this.dropMode = DropMode.valueOf(config.harvest().drop().mode().toUpperCase(Locale.ROOT));
     }
 
     public HarvestResult attemptHarvest(Player player, Block block) {
+        return attemptHarvest(player, block, false);
+    }
+
+    /**
+     * Harvests {@code block}. {@code VIRTUAL} drops are normally queued for the next batched inventory
+     * delivery; with {@code deliverImmediately} they are inserted before this method returns, together
+     * with anything already queued for the player.
+     */
+    public HarvestResult attemptHarvest(Player player, Block block, boolean deliverImmediately) {
         PlayerProfile profile = profileManager.getProfile(player);
         if (profile == null) {
             return HarvestResult.failure(HarvestResult.FailReason.PROFILE_NOT_LOADED);
         }
 
         ItemStack tool = player.getInventory().getItemInMainHand();
-        if (!ItemUtil.isFarmHoe(tool, plugin)) {
+        HoeIdentity identity = heldHoeCache.get(player);
+        if (!identity.farmHoe()) {
             return HarvestResult.failure(HarvestResult.FailReason.INVALID_TOOL);
         }
 
         ItemStack toolSnapshot = tool.clone();
-        String hoeUid = ItemUtil.readUid(tool, plugin).orElse(null);
+        String hoeUid = identity.uid();
 
         if (!harvestWorlds.contains(block.getWorld().getName())) {
-            sendNotification(player, config.notifications().harvestDenied());
+            notifications.send(player, NotificationService.Notification.HARVEST_DENIED);
             return HarvestResult.failure(HarvestResult.FailReason.WRONG_WORLD);
         }
 
         Material blockType = block.getType();
-        if (!harvestableRegistry.isHarvestable(blockType)) {
+        HarvestTarget target = harvestableRegistry.lookup(blockType);
+        if (target == null) {
             return HarvestResult.failure(HarvestResult.FailReason.NOT_HARVESTABLE);
         }
 
-        if (isPlayerBusy(player)) {
-            return HarvestResult.failure(HarvestResult.FailReason.BUSY_STATE);
-        }
-
         long now = System.currentTimeMillis();
-        if (profile.getActionCooldownEnd() > 0 && now >= profile.getActionCooldownEnd()) {
-            profile.setActionCooldownEnd(0);
-        }
-        if (now < profile.getActionCooldownEnd()) {
-            sendNotification(player, config.notifications().cooldownActive());
-            return HarvestResult.failure(HarvestResult.FailReason.ACTION_COOLDOWN);
+        HarvestResult blocked = checkReady(player, profile, now);
+        if (blocked != null) {
+            return blocked;
         }
 
-        Optional<Double> comboOverride = Optional.empty();
-        if (profile.getComboOverrideUntil() > now) {
-            comboOverride = Optional.of(profile.getComboOverrideWindow());
-        } else if (profile.getComboOverrideUntil() != 0) {
-            profile.clearComboOverride();
-        }
+        Optional<Double> comboOverride = activeComboOverride(profile, now);
 
         String blockKey = blockType.name();
         long evalTime = now;
@@ -124,19 +135,12 @@ public class HarvestManager {
         double comboWindowSeconds = comboResult.windowSeconds();
 
         double xpBonusPercent = Math.min(Math.max(0, comboCount - 1) * config.combo().xpBonusPerStack(), config.combo().xpBonusCap());
-        double xpBase = config.xp().basePerHarvest();
+        double xpBase = config.xp().basePerHarvest() * target.xpWeight();
         int xpGained = (int) Math.round(xpBase * (1 + xpBonusPercent));
 
-        boolean guildXpBonus = false;
-        GuildService.GuildContext guildContext = guildService.evaluateContext(player, profile);
-        if (guildContext.sameWorldActive()) {
-            PluginConfig.XpConfig.GuildBonusConfig guildBonusConfig = config.xp().guildBonus();
-            double chance = guildBonusConfig.baseChance() + guildBonusConfig.perMemberInc() * guildContext.activeMembers();
-            chance = Math.min(chance, guildBonusConfig.chanceCap());
-            if (ThreadLocalRandom.current().nextDouble() < chance) {
-                xpGained += 1;
-                guildXpBonus = true;
-            }
+        boolean guildXpBonus = rollGuildBonus(player, profile);
+        if (guildXpBonus) {
+            xpGained += 1;
         }
 
         boolean extraDrop = computeExtraDrop(profile.getLevel(), comboCount);
@@ -204,14 +208,16 @@ public class HarvestManager {
         profile.setComboCount(comboCount);
         profile.setComboExpireAt(now + (long) (Math.max(comboWindowSeconds, 0) * 1000L));
 
-        boolean inventoryFull = distributeDrops(player, finalDrops);
+        boolean inventoryFull = distributeDrops(player, finalDrops, deliverImmediately);
 
+        plugin.getRegrowthService().record(block, block.getBlockData(), target.regrowthClass());
         block.setType(Material.AIR, false);
 
         ProgressionService.LevelUpResult levelUpResult = xpGained > 0
                 ? progressionService.addXp(profile, xpGained)
                 : ProgressionService.LevelUpResult.noChange(profile.getLevel(), profile.getXp());
 
+        plugin.getSkillManager().settleEnergy(profile, now);
         profile.setLastHarvestAt(now);
         long cooldownMillis = (long) (config.harvest().actionCooldownSec() * 1000);
         profile.setActionCooldownEnd(now + cooldownMillis);
@@ -220,7 +226,7 @@ public class HarvestManager {
         bossBarService.handleHarvest(player, profile, comboCount, comboWindowSeconds, xpBonusPercent, xpGained);
 
         if (inventoryFull) {
-            sendNotification(player, config.notifications().inventoryFull());
+            notifications.send(player, NotificationService.Notification.INVENTORY_FULL);
         }
 
         return new HarvestResult(
@@ -238,6 +244,242 @@ public class HarvestManager {
         );
     }
 
+    /**
+     * Harvests several blocks as one action: one combo step, one XP grant, one merged drop delivery
+     * and a single {@link FarmGatherHarvestEvent} for {@code origin} carrying the combined drops. The
+     * first target earns {@code xpFirst} and every other target {@code xpOthers}, both scaled by the
+     * combo bonus. Cancelling the event cancels the whole batch.
+     */
+    public HarvestResult harvestBatch(Player player, Block origin, List<Block> targets, int xpFirst, int xpOthers) {
+        return harvestBatch(player, origin, targets, xpFirst, xpOthers, false);
+    }
+
+    /**
+     * Harvests a later step of a multi-step skill cast, such as a Shears chain hop. Works like
+     * {@link #harvestBatch} but keeps the current combo instead of advancing it, and neither checks nor
+     * sets the per-harvest action cooldown, which the cast already paid for.
+     */
+    public HarvestResult harvestFollowUp(Player player, Block origin, List<Block> targets, int xpPerBlock) {
+        return harvestBatch(player, origin, targets, xpPerBlock, xpPerBlock, true);
+    }
+
+    private HarvestResult harvestBatch(Player player, Block origin, List<Block> candidates, int xpFirst, int xpOthers, boolean followUp) {
+        List<Block> targets = new ArrayList<>(candidates.size());
+        for (Block candidate : candidates) {
+            if (isHarvestable(candidate)) {
+                targets.add(candidate);
+            }
+        }
+        if (targets.isEmpty()) {
+            return HarvestResult.failure(HarvestResult.FailReason.NOT_HARVESTABLE);
+        }
+        PlayerProfile profile = profileManager.getProfile(player);
+        if (profile == null) {
+            return HarvestResult.failure(HarvestResult.FailReason.PROFILE_NOT_LOADED);
+        }
+
+        ItemStack tool = player.getInventory().getItemInMainHand();
+        HoeIdentity identity = heldHoeCache.get(player);
+        if (!identity.farmHoe()) {
+            return HarvestResult.failure(HarvestResult.FailReason.INVALID_TOOL);
+        }
+        if (!harvestWorlds.contains(origin.getWorld().getName())) {
+            notifications.send(player, NotificationService.Notification.HARVEST_DENIED);
+            return HarvestResult.failure(HarvestResult.FailReason.WRONG_WORLD);
+        }
+
+        long now = System.currentTimeMillis();
+        HarvestResult blocked = followUp ? null : checkReady(player, profile, now);
+        if (blocked != null) {
+            return blocked;
+        }
+
+        String blockKey = targets.get(0).getType().name();
+        String previousBlockType = profile.getLastBlockType();
+        int previousComboCount = profile.getComboCount();
+        long previousComboExpireAt = profile.getComboExpireAt();
+
+        int comboCount;
+        double comboWindowSeconds;
+        if (followUp) {
+            comboCount = previousComboCount;
+            comboWindowSeconds = Math.max(0L, previousComboExpireAt - now) / 1000.0;
+        } else {
+            ComboService.ComboResult comboResult = comboService.applyCombo(profile, blockKey, now, profile.getLevel(), activeComboOverride(profile, now));
+            comboCount = comboResult.comboCount();
+            comboWindowSeconds = comboResult.windowSeconds();
+        }
+
+        double xpBonusPercent = Math.min(Math.max(0, comboCount - 1) * config.combo().xpBonusPerStack(), config.combo().xpBonusCap());
+        double xpBase = Math.max(0, xpFirst) + (double) Math.max(0, xpOthers) * (targets.size() - 1);
+        int xpGained = (int) Math.round(xpBase * (1 + xpBonusPercent));
+        boolean guildXpBonus = rollGuildBonus(player, profile);
+        if (guildXpBonus) {
+            xpGained += 1;
+        }
+        boolean extraDrop = computeExtraDrop(profile.getLevel(), comboCount);
+
+        List<ItemStack> preliminaryDrops = new ArrayList<>();
+        for (Block target : targets) {
+            for (ItemStack drop : target.getDrops(tool, player)) {
+                ItemUtil.mergeStack(preliminaryDrops, drop);
+            }
+        }
+        if (extraDrop && !preliminaryDrops.isEmpty()) {
+            ItemStack template = preliminaryDrops.get(0).clone();
+            template.setAmount(1);
+            ItemUtil.mergeStack(preliminaryDrops, template);
+        }
+
+        FarmGatherHarvestEvent harvestEvent = new FarmGatherHarvestEvent(
+                player,
+                profile,
+                origin,
+                tool.clone(),
+                identity.uid(),
+                comboCount,
+                comboWindowSeconds,
+                xpBonusPercent,
+                xpGained,
+                guildXpBonus,
+                extraDrop,
+                false,
+                1.0,
+                preliminaryDrops
+        );
+        plugin.getServer().getPluginManager().callEvent(harvestEvent);
+        if (harvestEvent.isCancelled()) {
+            profile.setComboCount(previousComboCount);
+            profile.setComboExpireAt(previousComboExpireAt);
+            profile.setLastBlockType(previousBlockType);
+            return HarvestResult.failure(HarvestResult.FailReason.CANCELLED);
+        }
+
+        applyHoeMutations(player, harvestEvent);
+
+        comboCount = harvestEvent.getComboCount();
+        comboWindowSeconds = harvestEvent.getComboWindowSeconds();
+        xpBonusPercent = harvestEvent.getXpBonusPercent();
+        xpGained = Math.max(0, harvestEvent.getXpGained());
+        List<ItemStack> finalDrops = cloneDrops(harvestEvent.getDrops());
+
+        profile.setComboCount(comboCount);
+        profile.setComboExpireAt(now + (long) (Math.max(comboWindowSeconds, 0) * 1000L));
+
+        boolean inventoryFull = distributeDrops(player, finalDrops, false);
+
+        RegrowthService regrowth = plugin.getRegrowthService();
+        for (Block target : targets) {
+            // An event listener may have replaced the block; never clear anything that is not a crop.
+            HarvestTarget harvestTarget = harvestableRegistry.lookup(target.getType());
+            if (harvestTarget == null) {
+                continue;
+            }
+            regrowth.record(target, target.getBlockData(), harvestTarget.regrowthClass());
+            target.setType(Material.AIR, false);
+        }
+
+        ProgressionService.LevelUpResult levelUpResult = xpGained > 0
+                ? progressionService.addXp(profile, xpGained)
+                : ProgressionService.LevelUpResult.noChange(profile.getLevel(), profile.getXp());
+
+        plugin.getSkillManager().settleEnergy(profile, now);
+        profile.setLastHarvestAt(now);
+        if (!followUp) {
+            long cooldownMillis = (long) (config.harvest().actionCooldownSec() * 1000);
+            profile.setActionCooldownEnd(now + cooldownMillis);
+        }
+        profile.setLastGuildHarvestAt(now);
+
+        bossBarService.handleHarvest(player, profile, comboCount, comboWindowSeconds, xpBonusPercent, xpGained);
+
+        if (inventoryFull) {
+            notifications.send(player, NotificationService.Notification.INVENTORY_FULL);
+        }
+
+        return new HarvestResult(
+                true,
+                null,
+                comboCount,
+                comboWindowSeconds,
+                xpGained,
+                harvestEvent.isGuildBonusApplied(),
+                harvestEvent.isExtraDrop(),
+                false,
+                1.0,
+                finalDrops,
+                levelUpResult
+        );
+    }
+
+    public boolean isHarvestable(Block block) {
+        return harvestableRegistry.lookup(block.getType()) != null;
+    }
+
+    /**
+     * Collects harvestable blocks in {@code area} centred on {@code center} at its Y level, nearest
+     * first and at most {@code maxTargets}. Types are read straight from the world by coordinate, so
+     * only actual targets get a {@link Block}; positions in unloaded chunks are skipped.
+     */
+    public List<Block> collectArea(Block center, AreaPattern area, int maxTargets) {
+        List<Block> targets = new ArrayList<>();
+        if (maxTargets <= 0) {
+            return targets;
+        }
+        World world = center.getWorld();
+        int y = center.getY();
+        for (int i = 0; i < area.size(); i++) {
+            int x = center.getX() + area.dx(i);
+            int z = center.getZ() + area.dz(i);
+            if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+                continue;
+            }
+            if (harvestableRegistry.lookup(world.getType(x, y, z)) == null) {
+                continue;
+            }
+            targets.add(world.getBlockAt(x, y, z));
+            if (targets.size() >= maxTargets) {
+                break;
+            }
+        }
+        return targets;
+    }
+
+    private HarvestResult checkReady(Player player, PlayerProfile profile, long now) {
+        if (isPlayerBusy(player)) {
+            return HarvestResult.failure(HarvestResult.FailReason.BUSY_STATE);
+        }
+        if (profile.getActionCooldownEnd() > 0 && now >= profile.getActionCooldownEnd()) {
+            profile.setActionCooldownEnd(0);
+        }
+        if (now < profile.getActionCooldownEnd()) {
+            notifications.send(player, NotificationService.Notification.COOLDOWN_ACTIVE);
+            return HarvestResult.failure(HarvestResult.FailReason.ACTION_COOLDOWN);
+        }
+        return null;
+    }
+
+    private Optional<Double> activeComboOverride(PlayerProfile profile, long now) {
+        if (profile.getComboOverrideUntil() > now) {
+            return Optional.of(profile.getComboOverrideWindow());
+        }
+        if (profile.getComboOverrideUntil() != 0) {
+            profile.clearComboOverride();
+        }
+        return Optional.empty();
+    }
+
+    private boolean rollGuildBonus(Player player, PlayerProfile profile) {
+        GuildService.GuildContext guildContext = guildService.evaluateContext(player, profile);
+        if (!guildContext.sameWorldActive()) {
+            return false;
+        }
+        PluginConfig.XpConfig.GuildBonusConfig guildBonusConfig = config.xp().guildBonus();
+        double chance = guildBonusConfig.baseChance() + guildBonusConfig.perMemberInc() * guildContext.activeMembers();
+        chance = Math.min(chance, guildBonusConfig.chanceCap());
+        return ThreadLocalRandom.current().nextDouble() < chance;
+    }
+
     private void applyHoeMutations(Player player, FarmGatherHarvestEvent event) {
         ItemStack replacement = event.getTool();
         String requestedUid = event.getHoeUid();
@@ -249,12 +491,14 @@ public class HarvestManager {
                 ItemUtil.setUid(clone, plugin, requestedUid);
             }
             player.getInventory().setItemInMainHand(clone);
+            heldHoeCache.invalidate(player);
             return;
         }
         if (requestedUid != null && !requestedUid.isBlank()) {
             ItemStack mainHand = player.getInventory().getItemInMainHand();
             if (mainHand != null && !mainHand.getType().isAir()) {
                 ItemUtil.setUid(mainHand, plugin, requestedUid);
+                heldHoeCache.invalidate(player);
             }
         }
     }
@@ -297,7 +541,11 @@ public class HarvestManager {
         return drops;
     }
 
-    private boolean distributeDrops(Player player, List<ItemStack> drops) {
+    /**
+     * Returns whether the inventory overflowed. Queued deliveries report overflow themselves when they
+     * run, so this is only ever true for immediate delivery.
+     */
+    private boolean distributeDrops(Player player, List<ItemStack> drops, boolean immediate) {
         if (drops.isEmpty()) {
             return false;
         }
@@ -307,13 +555,11 @@ public class HarvestManager {
             return false;
         }
 
-        Map<Integer, ItemStack> leftovers = player.getInventory().addItem(drops.toArray(ItemStack[]::new));
-        if (leftovers.isEmpty()) {
-            return false;
+        if (immediate) {
+            return virtualDrops.deliverNow(player, drops);
         }
-
-        dropToGround(player, leftovers.values().stream().toList());
-        return true;
+        virtualDrops.offer(player, drops);
+        return false;
     }
 
     private List<ItemStack> cloneDrops(List<ItemStack> drops) {
@@ -331,28 +577,7 @@ public class HarvestManager {
     }
 
     private void dropToGround(Player player, List<ItemStack> stacks) {
-        Location location = player.getLocation().add(0, 0.5, 0);
-        for (ItemStack stack : stacks) {
-            Item item = player.getWorld().dropItem(location, stack, entity -> {
-                entity.setCanPlayerPickup(true);
-                entity.setOwner(player.getUniqueId());
-                entity.setPickupDelay(10);
-            });
-            item.setVelocity(new Vector(0, 0.1, 0));
-            item.setThrower(player.getUniqueId());
-            item.setGlowing(false);
-            item.setUnlimitedLifetime(false);
-            item.setCustomNameVisible(false);
-            item.setTicksLived(1);
-            item.setGravity(true);
-        }
-    }
-
-    private void sendNotification(Player player, String message) {
-        if (message == null || message.isBlank()) {
-            return;
-        }
-        player.sendMessage(Text.colorize(message));
+        groundDrops.offer(player, stacks);
     }
 
     private boolean isPlayerBusy(Player player) {
@@ -0,0 +1,9 @@
+package wiki.creeper.farmGather.harvest;
+
+import org.bukkit.Material;
+
+/**
+ * Everything the harvest path needs to know about a harvestable block type, resolved once per reload.
+ */
+public record HarvestTarget(Material material, double xpWeight, RegrowthClass regrowthClass) {
+}
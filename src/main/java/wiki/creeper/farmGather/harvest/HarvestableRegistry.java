@@ -1,48 +1,82 @@
 package wiki.creeper.farmGather.harvest;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Tag;
 import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
 
 public class HarvestableRegistry {
+    private static final int MATERIAL_COUNT = Material.values().length;
+
     private final FarmGather plugin;
-    private final Set<Material> harvestableMaterials = new HashSet<>();
+    // rebuilt off to the side and published in one write so readers never see a half-built registry
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
     public HarvestableRegistry(FarmGather plugin) {
         this.plugin = plugin;
     }
 
-    public void rebuild(List<String> entries) {
-        harvestableMaterials.clear();
+    public void rebuild(List<String> entries, Map<String, PluginConfig.HarvestConfig.MaterialRule> rules) {
+        EnumSet<Material> materials = EnumSet.noneOf(Material.class);
         for (String entry : entries) {
-            if (entry.startsWith("#")) {
-                registerTag(entry.substring(1));
-            } else {
-                registerMaterial(entry);
-            }
+            materials.addAll(resolve(entry));
         }
-        plugin.getLogger().info("Loaded " + harvestableMaterials.size() + " harvestable materials");
+
+        HarvestTarget[] targets = new HarvestTarget[MATERIAL_COUNT];
+        for (Material material : materials) {
+            targets[material.ordinal()] = new HarvestTarget(material, 1.0, RegrowthClass.NONE);
+        }
+        rules.forEach((key, rule) -> {
+            RegrowthClass regrowthClass = parseRegrowthClass(key, rule.regrowth());
+            for (Material material : resolve(key)) {
+                if (targets[material.ordinal()] == null) {
+                    continue;
+                }
+                targets[material.ordinal()] = new HarvestTarget(material, Math.max(0.0, rule.xpWeight()), regrowthClass);
+            }
+        });
+
+        snapshot = new Snapshot(targets, Collections.unmodifiableSet(materials));
+        plugin.getLogger().info("Loaded " + materials.size() + " harvestable materials");
     }
 
     public boolean isHarvestable(Material material) {
-        return harvestableMaterials.contains(material);
+        return lookup(material) != null;
+    }
+
+    public HarvestTarget lookup(Material material) {
+        return snapshot.targets()[material.ordinal()];
     }
 
     public Set<Material> getHarvestableMaterials() {
-        return Collections.unmodifiableSet(harvestableMaterials);
+        return snapshot.materials();
     }
 
-    private void registerTag(String keyString) {
+    private Set<Material> resolve(String entry) {
+        if (entry.startsWith("#")) {
+            return resolveTag(entry.substring(1));
+        }
+        Material material = Material.matchMaterial(entry);
+        if (material == null) {
+            plugin.getLogger().warning("Unknown material: " + entry);
+            return Set.of();
+        }
+        return Set.of(material);
+    }
+
+    private Set<Material> resolveTag(String keyString) {
         NamespacedKey key = NamespacedKey.fromString(keyString);
         if (key == null) {
             plugin.getLogger().warning("Invalid tag key: " + keyString);
-            return;
+            return Set.of();
         }
         Tag<Material> tag = Bukkit.getTag(Tag.REGISTRY_BLOCKS, key, Material.class);
         if (tag == null) {
@@ -50,17 +84,24 @@ public class HarvestableRegistry {
         }
         if (tag == null) {
             plugin.getLogger().warning("Unknown material tag: #" + keyString);
-            return;
+            return Set.of();
         }
-        harvestableMaterials.addAll(tag.getValues());
+        return tag.getValues();
     }
 
-    private void registerMaterial(String materialName) {
-        Material material = Material.matchMaterial(materialName);
-        if (material == null) {
-            plugin.getLogger().warning("Unknown material: " + materialName);
-            return;
+    private RegrowthClass parseRegrowthClass(String key, String value) {
+        if (value == null || value.isBlank()) {
+            return RegrowthClass.NONE;
+        }
+        try {
+            return RegrowthClass.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            plugin.getLogger().warning("Unknown regrowth class '" + value + "' for " + key);
+            return RegrowthClass.NONE;
         }
-        harvestableMaterials.add(material);
+    }
+
+    private record Snapshot(HarvestTarget[] targets, Set<Material> materials) {
+        static final Snapshot EMPTY = new Snapshot(new HarvestTarget[MATERIAL_COUNT], Set.of());
     }
 }
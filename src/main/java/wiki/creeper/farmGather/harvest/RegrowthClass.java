@@ -0,0 +1,8 @@
+package wiki.creeper.farmGather.harvest;
+
+public enum RegrowthClass {
+    NONE,
+    FAST,
+    NORMAL,
+    SLOW
+}
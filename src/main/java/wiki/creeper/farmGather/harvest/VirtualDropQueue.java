@@ -0,0 +1,126 @@
+package wiki.creeper.farmGather.harvest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.scheduler.DeadlineScheduler;
+import wiki.creeper.farmGather.ui.NotificationService;
+import wiki.creeper.farmGather.util.ItemUtil;
+
+/**
+ * Buffers {@code VIRTUAL} drops per player and inserts them into the inventory once every
+ * {@code virtual_delivery_ticks}, with similar stacks merged first, so fast harvesting costs one inventory
+ * scan per delivery instead of one per harvest. What does not fit goes to the {@link GroundDropAggregator}
+ * and triggers the inventory-full notification. With a delay of 0 every delivery is immediate. Every
+ * method must be called from the main thread.
+ */
+public class VirtualDropQueue implements Listener {
+    private static final String DELIVERY_CHANNEL = "virtual-drops";
+
+    private final FarmGather plugin;
+    private final DeadlineScheduler deadlines;
+    private final GroundDropAggregator groundDrops;
+    private final NotificationService notifications;
+    private final Map<UUID, List<ItemStack>> pending = new ConcurrentHashMap<>();
+
+    private int deliveryTicks;
+
+    public VirtualDropQueue(FarmGather plugin,
+                            DeadlineScheduler deadlines,
+                            GroundDropAggregator groundDrops,
+                            NotificationService notifications,
+                            PluginConfig.HarvestConfig.DropConfig config) {
+        this.plugin = plugin;
+        this.deadlines = deadlines;
+        this.groundDrops = groundDrops;
+        this.notifications = notifications;
+        reload(config);
+    }
+
+    public void reload(PluginConfig.HarvestConfig.DropConfig config) {
+        this.deliveryTicks = Math.max(0, config.virtualDeliveryTicks());
+    }
+
+    /**
+     * Queues {@code stacks} for the next delivery to {@code player}.
+     */
+    public void offer(Player player, List<ItemStack> stacks) {
+        if (stacks.isEmpty()) {
+            return;
+        }
+        if (deliveryTicks <= 0) {
+            if (deliverNow(player, stacks)) {
+                notifications.send(player, NotificationService.Notification.INVENTORY_FULL);
+            }
+            return;
+        }
+        UUID playerId = player.getUniqueId();
+        List<ItemStack> queued = pending.computeIfAbsent(playerId, key -> new ArrayList<>());
+        for (ItemStack stack : stacks) {
+            ItemUtil.mergeStack(queued, stack);
+        }
+        if (!deadlines.isPending(playerId, DELIVERY_CHANNEL)) {
+            deadlines.scheduleTicks(playerId, DELIVERY_CHANNEL, deliveryTicks, () -> flush(playerId));
+        }
+    }
+
+    /**
+     * Inserts {@code stacks} into the inventory right away, together with anything still queued for the
+     * player, and returns whether some of it had to be dropped on the ground. Does not notify.
+     */
+    public boolean deliverNow(Player player, List<ItemStack> stacks) {
+        deadlines.cancel(player.getUniqueId(), DELIVERY_CHANNEL);
+        List<ItemStack> queued = pending.remove(player.getUniqueId());
+        List<ItemStack> delivery = queued == null ? new ArrayList<>() : queued;
+        for (ItemStack stack : stacks) {
+            ItemUtil.mergeStack(delivery, stack);
+        }
+        if (delivery.isEmpty()) {
+            return false;
+        }
+        Map<Integer, ItemStack> leftovers = player.getInventory().addItem(delivery.toArray(ItemStack[]::new));
+        if (leftovers.isEmpty()) {
+            return false;
+        }
+        groundDrops.offer(player, List.copyOf(leftovers.values()));
+        return true;
+    }
+
+    /**
+     * Delivers everything queued for every online player.
+     */
+    public void flushAll() {
+        for (UUID playerId : List.copyOf(pending.keySet())) {
+            flush(playerId);
+        }
+        pending.clear();
+    }
+
+    // Before the ground drop aggregator flushes on quit, so overflow still reaches the ground.
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onQuit(PlayerQuitEvent event) {
+        deliverNow(event.getPlayer(), List.of());
+    }
+
+    private void flush(UUID playerId) {
+        Player player = plugin.getServer().getPlayer(playerId);
+        if (player == null) {
+            deadlines.cancel(playerId, DELIVERY_CHANNEL);
+            pending.remove(playerId);
+            return;
+        }
+        if (deliverNow(player, List.of())) {
+            notifications.send(player, NotificationService.Notification.INVENTORY_FULL);
+        }
+    }
+}
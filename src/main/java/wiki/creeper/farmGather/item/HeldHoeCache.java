@@ -0,0 +1,135 @@
+package wiki.creeper.farmGather.item;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.util.HoeIdentity;
+import wiki.creeper.farmGather.util.ItemUtil;
+
+/**
+ * Remembers the {@link HoeIdentity} of each player's main-hand item so hot paths do not re-read PDC
+ * tags. Entries are dropped on the inventory events that can change the held stack, and FarmGather
+ * invalidates explicitly wherever it replaces or re-tags the held item itself. As a guard against
+ * changes made through the API without an event, an entry is also re-read when the held slot, item
+ * type or item uid no longer match, or once it is a few seconds old.
+ *
+ * <p>The uid check costs a single PDC lookup and catches one hoe being swapped for another of the same
+ * type. It cannot tell apart items without a uid, or an item another plugin re-tags in place while
+ * keeping its uid; those are only picked up by the age limit.
+ */
+public class HeldHoeCache implements Listener {
+    private static final long MAX_AGE_MILLIS = 5_000L;
+
+    private final FarmGather plugin;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public HeldHoeCache(FarmGather plugin) {
+        this.plugin = plugin;
+    }
+
+    public HoeIdentity get(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        int slot = inventory.getHeldItemSlot();
+        ItemStack mainHand = inventory.getItemInMainHand();
+        Material type = mainHand.getType();
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry != null
+                && entry.slot() == slot
+                && entry.type() == type
+                && now - entry.readAt() < MAX_AGE_MILLIS
+                && Objects.equals(entry.identity().uid(), ItemUtil.readUid(mainHand, plugin).orElse(null))) {
+            return entry.identity();
+        }
+        HoeIdentity identity = ItemUtil.readIdentity(mainHand, plugin);
+        entries.put(player.getUniqueId(), new Entry(slot, type, identity, now));
+        return identity;
+    }
+
+    public void invalidate(Player player) {
+        entries.remove(player.getUniqueId());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDrop(PlayerDropItemEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    private record Entry(int slot, Material type, HoeIdentity identity, long readAt) {
+    }
+}
@@ -21,6 +21,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.util.HoeIdentity;
 import wiki.creeper.farmGather.util.ItemUtil;
 
 public class ItemIdentityService implements Listener {
@@ -48,6 +49,7 @@ public class ItemIdentityService implements Listener {
             }
         }
         if (changed) {
+            plugin.getHeldHoeCache().invalidate(player);
             plugin.getServer().getScheduler().runTask(plugin, player::updateInventory);
         }
     }
@@ -296,11 +298,8 @@ public class ItemIdentityService implements Listener {
         if (item == null || item.getType() == Material.AIR) {
             return false;
         }
-        if (!ItemUtil.hasUid(item, plugin)
-                && (ItemUtil.isFarmHoe(item, plugin) || ItemUtil.isHudToken(item, plugin))) {
-            return true;
-        }
-        return false;
+        HoeIdentity identity = ItemUtil.readIdentity(item, plugin);
+        return !identity.hasUid() && identity.isTracked();
     }
 
     private boolean isTracked(ItemStack item) {
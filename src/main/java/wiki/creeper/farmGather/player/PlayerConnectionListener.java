@@ -1,12 +1,20 @@
 package wiki.creeper.farmGather.player;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitScheduler;
 import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
 import wiki.creeper.farmGather.ui.ComboBossBarService;
+import wiki.creeper.farmGather.util.Text;
 
 public class PlayerConnectionListener implements Listener {
     private final FarmGather plugin;
@@ -19,16 +27,51 @@ public class PlayerConnectionListener implements Listener {
         this.bossBarService = bossBarService;
     }
 
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        PluginConfig.StorageConfig.PrefetchConfig prefetch = plugin.getPluginConfig().storage().prefetch();
+        if (!prefetch.enabled()) {
+            return;
+        }
+
+        CompletableFuture<PlayerProfile> future = profileManager.prefetchProfile(event.getUniqueId(), prefetch.stagingTtlMs());
+        try {
+            future.get(Math.max(1L, prefetch.timeoutMs()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            handleMissedDeadline(event, prefetch, null);
+        } catch (ExecutionException ex) {
+            handleMissedDeadline(event, prefetch, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleMissedDeadline(AsyncPlayerPreLoginEvent event,
+                                      PluginConfig.StorageConfig.PrefetchConfig prefetch,
+                                      Throwable cause) {
+        String reason = cause == null ? "timed out after " + prefetch.timeoutMs() + "ms" : "failed";
+        plugin.getLogger().log(Level.WARNING, "FarmGather profile prefetch for " + event.getName() + " " + reason, cause);
+        if (prefetch.denyOnTimeout()) {
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Text.colorize(prefetch.denyMessage()));
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        BukkitScheduler scheduler = plugin.getServer().getScheduler();
-        scheduler.runTaskAsynchronously(plugin, () -> profileManager.loadProfile(event.getPlayer().getUniqueId()));
+        profileManager.promoteStagedProfile(event.getPlayer().getUniqueId());
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        BukkitScheduler scheduler = plugin.getServer().getScheduler();
         bossBarService.clear(event.getPlayer());
-        scheduler.runTaskAsynchronously(plugin, () -> profileManager.unloadProfile(event.getPlayer().getUniqueId()).join());
+        // the store sequences this save ahead of any load issued by a quick rejoin
+        profileManager.unloadProfile(event.getPlayer().getUniqueId())
+                .exceptionally(throwable -> {
+                    plugin.getLogger().log(Level.WARNING, "Failed to save FarmGather profile for " + event.getPlayer().getName(), throwable);
+                    return null;
+                });
     }
 }
@@ -1,8 +1,10 @@
 package wiki.creeper.farmGather.player;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 public class PlayerProfile {
@@ -33,6 +35,9 @@ public class PlayerProfile {
     private String guildId;
     private long lastGuildHarvestAt;
 
+    private long dirtyFields = ProfileField.ALL_MASK;
+    private long version;
+
     public PlayerProfile(UUID uuid) {
         this.uuid = uuid;
         this.level = 1;
@@ -49,7 +54,11 @@ public class PlayerProfile {
     }
 
     public void setLevel(int level) {
+        if (this.level == level) {
+            return;
+        }
         this.level = level;
+        markDirty(ProfileField.LEVEL);
     }
 
     public double getXp() {
@@ -57,11 +66,15 @@ public class PlayerProfile {
     }
 
     public void setXp(double xp) {
+        if (Double.compare(this.xp, xp) == 0) {
+            return;
+        }
         this.xp = xp;
+        markDirty(ProfileField.XP);
     }
 
     public void addXp(double amount) {
-        this.xp += amount;
+        setXp(this.xp + amount);
     }
 
     public double getMastery() {
@@ -69,7 +82,11 @@ public class PlayerProfile {
     }
 
     public void setMastery(double mastery) {
+        if (Double.compare(this.mastery, mastery) == 0) {
+            return;
+        }
         this.mastery = mastery;
+        markDirty(ProfileField.MASTERY);
     }
 
     public double getEnergy() {
@@ -77,7 +94,11 @@ public class PlayerProfile {
     }
 
     public void setEnergy(double energy) {
+        if (Double.compare(this.energy, energy) == 0) {
+            return;
+        }
         this.energy = energy;
+        markDirty(ProfileField.ENERGY);
     }
 
     public long getLastEnergyTick() {
@@ -85,7 +106,11 @@ public class PlayerProfile {
     }
 
     public void setLastEnergyTick(long lastEnergyTick) {
+        if (this.lastEnergyTick == lastEnergyTick) {
+            return;
+        }
         this.lastEnergyTick = lastEnergyTick;
+        markDirty(ProfileField.LAST_ENERGY_TICK);
     }
 
     public long getLastHarvestAt() {
@@ -93,7 +118,11 @@ public class PlayerProfile {
     }
 
     public void setLastHarvestAt(long lastHarvestAt) {
+        if (this.lastHarvestAt == lastHarvestAt) {
+            return;
+        }
         this.lastHarvestAt = lastHarvestAt;
+        markDirty(ProfileField.LAST_HARVEST_AT);
     }
 
     public long getActionCooldownEnd() {
@@ -101,7 +130,11 @@ public class PlayerProfile {
     }
 
     public void setActionCooldownEnd(long actionCooldownEnd) {
+        if (this.actionCooldownEnd == actionCooldownEnd) {
+            return;
+        }
         this.actionCooldownEnd = actionCooldownEnd;
+        markDirty(ProfileField.ACTION_COOLDOWN_END);
     }
 
     public String getLastBlockType() {
@@ -109,7 +142,11 @@ public class PlayerProfile {
     }
 
     public void setLastBlockType(String lastBlockType) {
+        if (Objects.equals(this.lastBlockType, lastBlockType)) {
+            return;
+        }
         this.lastBlockType = lastBlockType;
+        markDirty(ProfileField.LAST_BLOCK_TYPE);
     }
 
     public int getComboCount() {
@@ -117,7 +154,11 @@ public class PlayerProfile {
     }
 
     public void setComboCount(int comboCount) {
+        if (this.comboCount == comboCount) {
+            return;
+        }
         this.comboCount = comboCount;
+        markDirty(ProfileField.COMBO_COUNT);
     }
 
     public long getComboExpireAt() {
@@ -125,7 +166,11 @@ public class PlayerProfile {
     }
 
     public void setComboExpireAt(long comboExpireAt) {
+        if (this.comboExpireAt == comboExpireAt) {
+            return;
+        }
         this.comboExpireAt = comboExpireAt;
+        markDirty(ProfileField.COMBO_EXPIRE_AT);
     }
 
     public float getLastYaw() {
@@ -133,7 +178,11 @@ public class PlayerProfile {
     }
 
     public void setLastYaw(float lastYaw) {
+        if (Float.compare(this.lastYaw, lastYaw) == 0) {
+            return;
+        }
         this.lastYaw = lastYaw;
+        markDirty(ProfileField.LAST_YAW);
     }
 
     public float getLastPitch() {
@@ -141,7 +190,11 @@ public class PlayerProfile {
     }
 
     public void setLastPitch(float lastPitch) {
+        if (Float.compare(this.lastPitch, lastPitch) == 0) {
+            return;
+        }
         this.lastPitch = lastPitch;
+        markDirty(ProfileField.LAST_PITCH);
     }
 
     public double getLastTargetDistance() {
@@ -149,7 +202,11 @@ public class PlayerProfile {
     }
 
     public void setLastTargetDistance(double lastTargetDistance) {
+        if (Double.compare(this.lastTargetDistance, lastTargetDistance) == 0) {
+            return;
+        }
         this.lastTargetDistance = lastTargetDistance;
+        markDirty(ProfileField.LAST_TARGET_DISTANCE);
     }
 
     public HoeSkill getSkill(HoeSkillType type) {
@@ -157,15 +214,22 @@ public class PlayerProfile {
     }
 
     public void setSkill(HoeSkill skill) {
-        hoeSkills.put(skill.getType(), skill);
+        HoeSkill previous = hoeSkills.put(skill.getType(), skill);
+        if (previous == null || previous.getLevel() != skill.getLevel()) {
+            markDirty(ProfileField.HOE_SKILLS);
+        }
     }
 
     public Map<HoeSkillType, HoeSkill> getHoeSkills() {
-        return hoeSkills;
+        return Collections.unmodifiableMap(hoeSkills);
     }
 
     public void clearHoeSkills() {
+        if (hoeSkills.isEmpty()) {
+            return;
+        }
         hoeSkills.clear();
+        markDirty(ProfileField.HOE_SKILLS);
     }
 
     public String getGuildId() {
@@ -173,7 +237,11 @@ public class PlayerProfile {
     }
 
     public void setGuildId(String guildId) {
+        if (Objects.equals(this.guildId, guildId)) {
+            return;
+        }
         this.guildId = guildId;
+        markDirty(ProfileField.GUILD_ID);
     }
 
     public long getLastGuildHarvestAt() {
@@ -181,12 +249,22 @@ public class PlayerProfile {
     }
 
     public void setLastGuildHarvestAt(long lastGuildHarvestAt) {
+        if (this.lastGuildHarvestAt == lastGuildHarvestAt) {
+            return;
+        }
         this.lastGuildHarvestAt = lastGuildHarvestAt;
+        markDirty(ProfileField.LAST_GUILD_HARVEST_AT);
     }
 
     public void setComboOverride(double windowSeconds, long untilMillis) {
-        this.comboOverrideWindow = windowSeconds;
-        this.comboOverrideUntil = untilMillis;
+        if (Double.compare(this.comboOverrideWindow, windowSeconds) != 0) {
+            this.comboOverrideWindow = windowSeconds;
+            markDirty(ProfileField.COMBO_OVERRIDE_WINDOW);
+        }
+        if (this.comboOverrideUntil != untilMillis) {
+            this.comboOverrideUntil = untilMillis;
+            markDirty(ProfileField.COMBO_OVERRIDE_UNTIL);
+        }
     }
 
     public double getComboOverrideWindow() {
@@ -198,7 +276,50 @@ public class PlayerProfile {
     }
 
     public void clearComboOverride() {
-        this.comboOverrideWindow = 0;
-        this.comboOverrideUntil = 0;
+        setComboOverride(0, 0);
+    }
+
+    /**
+     * Bitmask of {@link ProfileField} masks changed since the last successful save.
+     * New profiles start fully dirty so their first save inserts every field.
+     */
+    public synchronized long getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public synchronized boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    /**
+     * Incremented on every change; capture it before saving and pass it to {@link #markSaved(long)}.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Clears the dirty mask if nothing changed since {@code savedVersion} was captured.
+     * Changes made while the save was in flight keep the profile dirty.
+     */
+    public synchronized boolean markSaved(long savedVersion) {
+        if (version != savedVersion) {
+            return false;
+        }
+        dirtyFields = 0;
+        return true;
+    }
+
+    public synchronized void markClean() {
+        dirtyFields = 0;
+    }
+
+    public synchronized void markDirty(long fields) {
+        dirtyFields |= fields & ProfileField.ALL_MASK;
+        version++;
+    }
+
+    private void markDirty(ProfileField field) {
+        markDirty(field.mask());
     }
 }
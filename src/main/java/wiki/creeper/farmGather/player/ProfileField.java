@@ -0,0 +1,45 @@
+package wiki.creeper.farmGather.player;
+
+public enum ProfileField {
+    LEVEL("level"),
+    XP("xp"),
+    MASTERY("mastery"),
+    ENERGY("energy"),
+    LAST_ENERGY_TICK("last_energy_tick"),
+    LAST_HARVEST_AT("last_harvest_at"),
+    ACTION_COOLDOWN_END("action_cooldown_end"),
+    LAST_BLOCK_TYPE("last_block_type"),
+    COMBO_COUNT("combo_count"),
+    COMBO_EXPIRE_AT("combo_expire_at"),
+    COMBO_OVERRIDE_WINDOW("combo_override_window"),
+    COMBO_OVERRIDE_UNTIL("combo_override_until"),
+    LAST_YAW("last_yaw"),
+    LAST_PITCH("last_pitch"),
+    LAST_TARGET_DISTANCE("last_target_distance"),
+    HOE_SKILLS("hoe_skills"),
+    GUILD_ID("guild_id"),
+    LAST_GUILD_HARVEST_AT("last_guild_harvest_at");
+
+    public static final long ALL_MASK = (1L << values().length) - 1;
+
+    private final String key;
+
+    ProfileField(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Column name in {@code player_profiles} and field name in the Redis profile hash.
+     */
+    public String key() {
+        return key;
+    }
+
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    public boolean isSet(long fields) {
+        return (fields & mask()) != 0;
+    }
+}
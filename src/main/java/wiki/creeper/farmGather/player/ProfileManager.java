@@ -1,36 +1,120 @@
 package wiki.creeper.farmGather.player;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
 import wiki.creeper.farmGather.storage.PlayerDataStore;
 
 public class ProfileManager {
+    private final FarmGather plugin;
     private final PlayerDataStore dataStore;
     private final Map<UUID, PlayerProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<UUID, StagedProfile> stagedProfiles = new ConcurrentHashMap<>();
 
-    public ProfileManager(PlayerDataStore dataStore) {
+    private final Deque<UUID> autosaveCycle = new ArrayDeque<>();
+    private final AtomicInteger autosaveInFlight = new AtomicInteger();
+    private final AtomicLong autosaveSaved = new AtomicLong();
+    private final AtomicLong autosaveFailed = new AtomicLong();
+    private final AtomicLong autosaveLatencyTotalNanos = new AtomicLong();
+    private final AtomicLong autosaveLatencyMaxNanos = new AtomicLong();
+    private final AtomicLong autosaveDeferredTicks = new AtomicLong();
+
+    private PluginConfig.StorageConfig.AutosaveConfig autosaveConfig;
+    private BukkitTask autosaveTask;
+    private long cycleTick;
+    private int cycleSize;
+    private int cycleProcessed;
+
+    public ProfileManager(FarmGather plugin, PlayerDataStore dataStore, PluginConfig.StorageConfig.AutosaveConfig autosaveConfig) {
+        this.plugin = plugin;
         this.dataStore = dataStore;
+        this.autosaveConfig = autosaveConfig;
+    }
+
+    public void start() {
+        stop();
+        if (autosaveConfig == null || !autosaveConfig.enabled()) {
+            return;
+        }
+        autosaveTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::autosaveTick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (autosaveTask != null) {
+            autosaveTask.cancel();
+            autosaveTask = null;
+        }
+        autosaveCycle.clear();
+        cycleTick = 0L;
+        cycleSize = 0;
+        cycleProcessed = 0;
+    }
+
+    public void reload(PluginConfig.StorageConfig.AutosaveConfig autosaveConfig) {
+        this.autosaveConfig = autosaveConfig;
+        start();
     }
 
     public CompletableFuture<PlayerProfile> loadProfile(UUID uuid) {
         return dataStore.loadProfile(uuid)
                 .thenApply(optional -> {
                     PlayerProfile profile = optional.orElseGet(() -> new PlayerProfile(uuid));
-                    profiles.put(uuid, profile);
+                    profiles.put(uuid, activate(profile));
                     return profile;
                 });
     }
 
+    /**
+     * Energy does not regenerate while offline: the regeneration anchor restarts when the profile
+     * becomes live, however long its load or prefetch took.
+     */
+    private PlayerProfile activate(PlayerProfile profile) {
+        profile.setLastEnergyTick(System.currentTimeMillis());
+        return profile;
+    }
+
+    public CompletableFuture<PlayerProfile> prefetchProfile(UUID uuid, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        stagedProfiles.values().removeIf(staged -> staged.isExpired(now));
+        CompletableFuture<PlayerProfile> future = dataStore.loadProfile(uuid)
+                .thenApply(optional -> optional.orElseGet(() -> new PlayerProfile(uuid)));
+        stagedProfiles.put(uuid, new StagedProfile(future, now + Math.max(0L, ttlMillis)));
+        return future;
+    }
+
+    public CompletableFuture<PlayerProfile> promoteStagedProfile(UUID uuid) {
+        StagedProfile staged = stagedProfiles.remove(uuid);
+        if (staged == null || staged.isExpired(System.currentTimeMillis())) {
+            return loadProfile(uuid);
+        }
+        return staged.future()
+                .thenApply(profile -> {
+                    profiles.put(uuid, activate(profile));
+                    return profile;
+                })
+                .exceptionallyCompose(throwable -> loadProfile(uuid));
+    }
+
     public CompletableFuture<Void> unloadProfile(UUID uuid) {
+        stagedProfiles.remove(uuid);
         PlayerProfile profile = profiles.remove(uuid);
         if (profile == null) {
             return CompletableFuture.completedFuture(null);
         }
-        return dataStore.saveProfile(profile);
+        return persist(profile);
     }
 
     public CompletableFuture<Void> flush(UUID uuid) {
@@ -38,7 +122,7 @@ public class ProfileManager {
         if (profile == null) {
             return CompletableFuture.completedFuture(null);
         }
-        return dataStore.saveProfile(profile);
+        return persist(profile);
     }
 
     public PlayerProfile getProfile(UUID uuid) {
@@ -50,17 +134,134 @@ public class ProfileManager {
     }
 
     public void flushAllSync() {
-        profiles.values().forEach(profile -> dataStore.saveProfile(profile).join());
+        Map<PlayerProfile, Long> versions = new LinkedHashMap<>();
+        for (PlayerProfile profile : profiles.values()) {
+            if (profile.isDirty()) {
+                versions.put(profile, profile.getVersion());
+            }
+        }
+        if (versions.isEmpty()) {
+            return;
+        }
+        dataStore.saveProfiles(List.copyOf(versions.keySet())).join();
+        versions.forEach(PlayerProfile::markSaved);
     }
 
     public CompletableFuture<Void> close() {
-        profiles.values().forEach(profile -> dataStore.saveProfile(profile).join());
+        stop();
+        flushAllSync();
         return dataStore.close();
     }
 
+    private CompletableFuture<Void> persist(PlayerProfile profile) {
+        if (!profile.isDirty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long version = profile.getVersion();
+        return dataStore.saveProfile(profile).thenRun(() -> profile.markSaved(version));
+    }
+
+    public AutosaveStats getAutosaveStats() {
+        long saved = autosaveSaved.get();
+        long averageNanos = saved == 0 ? 0L : autosaveLatencyTotalNanos.get() / saved;
+        return new AutosaveStats(
+                autosaveConfig != null && autosaveConfig.enabled(),
+                saved,
+                autosaveFailed.get(),
+                autosaveInFlight.get(),
+                autosaveDeferredTicks.get(),
+                averageNanos / 1_000_000L,
+                autosaveLatencyMaxNanos.get() / 1_000_000L
+        );
+    }
+
+    /**
+     * Each cycle snapshots the loaded profiles and walks through them so that after {@code t} of
+     * {@code intervalTicks} ticks roughly {@code t / intervalTicks} of them have been visited,
+     * instead of saving everyone at once when the interval elapses.
+     */
+    private void autosaveTick() {
+        long intervalTicks = Math.max(1L, autosaveConfig.intervalTicks());
+        if (cycleTick >= intervalTicks) {
+            cycleTick = 0L;
+        }
+        if (cycleTick == 0L) {
+            autosaveCycle.clear();
+            autosaveCycle.addAll(profiles.keySet());
+            cycleSize = autosaveCycle.size();
+            cycleProcessed = 0;
+        }
+        cycleTick++;
+        if (autosaveCycle.isEmpty()) {
+            return;
+        }
+
+        int target = (int) Math.min(cycleSize, (cycleSize * cycleTick + intervalTicks - 1) / intervalTicks);
+        int maxPending = autosaveConfig.maxPendingWrites();
+        while (cycleProcessed < target && !autosaveCycle.isEmpty()) {
+            if (maxPending > 0 && dataStore.pendingWriteCount() >= maxPending) {
+                // the store is saturated; keep the rest of this tick's share for later ticks
+                autosaveDeferredTicks.incrementAndGet();
+                return;
+            }
+            UUID uuid = autosaveCycle.poll();
+            cycleProcessed++;
+            PlayerProfile profile = profiles.get(uuid);
+            if (profile != null && profile.isDirty()) {
+                autosave(profile);
+            }
+        }
+    }
+
+    private void autosave(PlayerProfile profile) {
+        long startedAt = System.nanoTime();
+        autosaveInFlight.incrementAndGet();
+        persist(profile).whenComplete((ignored, throwable) -> {
+            autosaveInFlight.decrementAndGet();
+            if (throwable != null) {
+                autosaveFailed.incrementAndGet();
+                plugin.getLogger().log(Level.WARNING, "Failed to autosave FarmGather profile " + profile.getUuid(), throwable);
+                return;
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            autosaveSaved.incrementAndGet();
+            autosaveLatencyTotalNanos.addAndGet(elapsed);
+            autosaveLatencyMaxNanos.accumulateAndGet(elapsed, Math::max);
+        });
+    }
+
     public void loadOnlinePlayers() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            loadProfile(player.getUniqueId());
+        List<UUID> uuids = Bukkit.getOnlinePlayers().stream()
+                .map(Player::getUniqueId)
+                .toList();
+        if (uuids.isEmpty()) {
+            return;
+        }
+        dataStore.loadProfiles(uuids)
+                .thenAccept(loaded -> {
+                    for (UUID uuid : uuids) {
+                        PlayerProfile profile = loaded.get(uuid);
+                        profiles.computeIfAbsent(uuid, key -> activate(profile != null ? profile : new PlayerProfile(key)));
+                    }
+                })
+                .exceptionally(throwable -> {
+                    plugin.getLogger().log(Level.WARNING, "Failed to bulk load FarmGather profiles for online players", throwable);
+                    return null;
+                });
+    }
+
+    private record StagedProfile(CompletableFuture<PlayerProfile> future, long expiresAt) {
+        boolean isExpired(long now) {
+            return now > expiresAt;
         }
     }
+
+    public record AutosaveStats(boolean enabled,
+                                long saved,
+                                long failed,
+                                int inFlight,
+                                long deferredTicks,
+                                long averageLatencyMillis,
+                                long maxLatencyMillis) {
+    }
 }
@@ -7,13 +7,15 @@ import wiki.creeper.farmGather.player.PlayerProfile;
 
 public class ProgressionService {
     private PluginConfig.ProgressionConfig config;
+    private volatile XpTable table;
 
     public ProgressionService(PluginConfig.ProgressionConfig config) {
-        this.config = config;
+        reload(config);
     }
 
     public void reload(PluginConfig.ProgressionConfig config) {
         this.config = config;
+        this.table = compile(config);
     }
 
     public PluginConfig.ProgressionConfig getConfig() {
@@ -25,6 +27,35 @@ public class ProgressionService {
             return LevelUpResult.noChange(profile.getLevel(), profile.getXp());
         }
 
+        XpTable table = this.table;
+        int level = profile.getLevel();
+        if (!table.complete() || level < 1) {
+            return addXpStepwise(profile, amount);
+        }
+
+        double xp;
+        int reached;
+        if (level >= table.cap()) {
+            reached = table.cap();
+            xp = 0;
+        } else {
+            double total = table.cumulativeXp()[level] + profile.getXp() + amount;
+            reached = Math.max(level, levelForTotalXp(total));
+            xp = reached >= table.cap() ? 0 : Math.max(0, total - table.cumulativeXp()[reached]);
+        }
+
+        List<Integer> levelUps = new ArrayList<>(Math.max(0, reached - level));
+        for (int next = level + 1; next <= reached; next++) {
+            levelUps.add(next);
+        }
+
+        profile.setLevel(reached);
+        profile.setXp(xp);
+
+        return new LevelUpResult(reached, xp, levelUps);
+    }
+
+    private LevelUpResult addXpStepwise(PlayerProfile profile, double amount) {
         int level = profile.getLevel();
         double xp = profile.getXp() + amount;
         List<Integer> levelUps = new ArrayList<>();
@@ -51,32 +82,83 @@ public class ProgressionService {
     }
 
     public double getXpToNextLevel(int level) {
-        if (level >= config.cap()) {
+        XpTable table = this.table;
+        if (level >= table.cap()) {
             return Double.POSITIVE_INFINITY;
         }
+        double cost = level >= 1 ? table.costToNext()[level] : Double.NaN;
+        if (Double.isNaN(cost)) {
+            throw new IllegalStateException("No XP formula defined for level " + level);
+        }
+        return cost;
+    }
+
+    /**
+     * Returns the level a player starting from level 1 with no XP reaches after earning {@code totalXp},
+     * capped at the configured level cap. Levels whose cost is not defined stop the search.
+     */
+    public int levelForTotalXp(double totalXp) {
+        double[] cumulative = table.cumulativeXp();
+        int low = 1;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulative[mid] <= totalXp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private XpTable compile(PluginConfig.ProgressionConfig config) {
+        int cap = Math.max(1, config.cap());
+        List<PluginConfig.ProgressionConfig.PiecewiseEntry> entries = config.piecewise();
+        List<XpFormula> formulas = new ArrayList<>(entries.size());
+        for (PluginConfig.ProgressionConfig.PiecewiseEntry entry : entries) {
+            formulas.add(XpFormula.compile(entry.formula()));
+        }
 
-        for (PluginConfig.ProgressionConfig.PiecewiseEntry entry : config.piecewise()) {
+        double[] costToNext = new double[cap + 1];
+        double[] cumulativeXp = new double[cap + 1];
+        costToNext[0] = Double.NaN;
+        costToNext[cap] = Double.POSITIVE_INFINITY;
+        boolean complete = true;
+        for (int level = 1; level < cap; level++) {
+            costToNext[level] = computeXpToNextLevel(config, formulas, level);
+            complete &= !Double.isNaN(costToNext[level]);
+        }
+        for (int level = 2; level <= cap; level++) {
+            double previous = costToNext[level - 1];
+            // An undefined level makes every later level unreachable for levelForTotalXp.
+            cumulativeXp[level] = Double.isNaN(previous)
+                    ? Double.POSITIVE_INFINITY
+                    : cumulativeXp[level - 1] + previous;
+        }
+        return new XpTable(cap, costToNext, cumulativeXp, complete);
+    }
+
+    private double computeXpToNextLevel(PluginConfig.ProgressionConfig config, List<XpFormula> formulas, int level) {
+        List<PluginConfig.ProgressionConfig.PiecewiseEntry> entries = config.piecewise();
+        for (int i = 0; i < entries.size(); i++) {
+            PluginConfig.ProgressionConfig.PiecewiseEntry entry = entries.get(i);
             PluginConfig.ProgressionConfig.PiecewiseEntry.Range range = entry.range();
             if (level >= range.min() && level <= range.max()) {
-                double baseXp = evaluateFormula(entry.formula(), level);
+                double baseXp = formulas.get(i).evaluate(level);
                 baseXp *= entry.scale();
                 baseXp *= config.globalCostMultiplier();
                 return baseXp;
             }
         }
-
-        throw new IllegalStateException("No XP formula defined for level " + level);
+        return Double.NaN;
     }
 
-    private double evaluateFormula(String formula, int level) {
-        if (formula.contains("(L-100)")) {
-            double delta = level - 100;
-            return 95_375 + 600 * delta + 18 * delta * delta;
-        }
-        if (formula.contains("L^2")) {
-            return 375 + 50 * level + 9 * level * level;
-        }
-        throw new IllegalArgumentException("Unsupported progression formula: " + formula);
+    /**
+     * Per-level XP costs indexed by level; {@code cumulativeXp[L]} is the XP needed to go from level 1
+     * to level {@code L}.
+     */
+    private record XpTable(int cap, double[] costToNext, double[] cumulativeXp, boolean complete) {
     }
 
     public record LevelUpResult(int level, double remainingXp, List<Integer> leveledTo) {
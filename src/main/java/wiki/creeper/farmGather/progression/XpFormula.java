@@ -0,0 +1,222 @@
+package wiki.creeper.farmGather.progression;
+
+/**
+ * Arithmetic expression over the level variable {@code L}, compiled from a progression formula string.
+ * Supports numbers, {@code + - * / ^}, unary minus and parentheses; {@code ^} binds tighter than unary
+ * minus and is right-associative. Sub-expressions without {@code L} are folded into constants when the
+ * formula is compiled.
+ */
+public final class XpFormula {
+    private final String source;
+    private final Node root;
+
+    private XpFormula(String source, Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code source} is not a valid expression
+     */
+    public static XpFormula compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Formula is empty");
+        }
+        Parser parser = new Parser(source);
+        Node root = parser.parseExpression();
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw parser.error("Unexpected '" + parser.peek() + "'");
+        }
+        return new XpFormula(source, root);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public boolean isConstant() {
+        return root instanceof Constant;
+    }
+
+    public double evaluate(double level) {
+        return root.evaluate(level);
+    }
+
+    private interface Node {
+        double evaluate(double level);
+    }
+
+    private record Constant(double value) implements Node {
+        @Override
+        public double evaluate(double level) {
+            return value;
+        }
+    }
+
+    private record Level() implements Node {
+        @Override
+        public double evaluate(double level) {
+            return level;
+        }
+    }
+
+    private record Negate(Node operand) implements Node {
+        @Override
+        public double evaluate(double level) {
+            return -operand.evaluate(level);
+        }
+    }
+
+    private record Binary(char operator, Node left, Node right) implements Node {
+        @Override
+        public double evaluate(double level) {
+            return apply(operator, left.evaluate(level), right.evaluate(level));
+        }
+    }
+
+    private static double apply(char operator, double left, double right) {
+        return switch (operator) {
+            case '+' -> left + right;
+            case '-' -> left - right;
+            case '*' -> left * right;
+            case '/' -> left / right;
+            case '^' -> Math.pow(left, right);
+            default -> throw new IllegalStateException("Unknown operator " + operator);
+        };
+    }
+
+    private static Node binary(char operator, Node left, Node right) {
+        if (left instanceof Constant a && right instanceof Constant b) {
+            return new Constant(apply(operator, a.value(), b.value()));
+        }
+        return new Binary(operator, left, right);
+    }
+
+    private static final class Parser {
+        private final String input;
+        private int position;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        // expression := term (('+' | '-') term)*
+        Node parseExpression() {
+            Node node = parseTerm();
+            while (true) {
+                skipWhitespace();
+                if (consume('+')) {
+                    node = binary('+', node, parseTerm());
+                } else if (consume('-')) {
+                    node = binary('-', node, parseTerm());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // term := unary (('*' | '/') unary)*
+        private Node parseTerm() {
+            Node node = parseUnary();
+            while (true) {
+                skipWhitespace();
+                if (consume('*')) {
+                    node = binary('*', node, parseUnary());
+                } else if (consume('/')) {
+                    node = binary('/', node, parseUnary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // unary := '-' unary | '+' unary | power
+        private Node parseUnary() {
+            skipWhitespace();
+            if (consume('-')) {
+                Node operand = parseUnary();
+                return operand instanceof Constant constant ? new Constant(-constant.value()) : new Negate(operand);
+            }
+            if (consume('+')) {
+                return parseUnary();
+            }
+            return parsePower();
+        }
+
+        // power := primary ('^' unary)?
+        private Node parsePower() {
+            Node base = parsePrimary();
+            skipWhitespace();
+            if (consume('^')) {
+                return binary('^', base, parseUnary());
+            }
+            return base;
+        }
+
+        // primary := number | 'L' | '(' expression ')'
+        private Node parsePrimary() {
+            skipWhitespace();
+            if (atEnd()) {
+                throw error("Unexpected end of formula");
+            }
+            char c = peek();
+            if (consume('(')) {
+                Node inner = parseExpression();
+                skipWhitespace();
+                if (!consume(')')) {
+                    throw error("Expected ')'");
+                }
+                return inner;
+            }
+            if (c == 'L' || c == 'l') {
+                position++;
+                return new Level();
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return parseNumber();
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+
+        private Node parseNumber() {
+            int start = position;
+            while (!atEnd() && (Character.isDigit(peek()) || peek() == '.' || peek() == '_')) {
+                position++;
+            }
+            String literal = input.substring(start, position).replace("_", "");
+            try {
+                return new Constant(Double.parseDouble(literal));
+            } catch (NumberFormatException ex) {
+                position = start;
+                throw error("Invalid number '" + literal + "'");
+            }
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                position++;
+            }
+        }
+
+        boolean atEnd() {
+            return position >= input.length();
+        }
+
+        char peek() {
+            return input.charAt(position);
+        }
+
+        private boolean consume(char expected) {
+            if (!atEnd() && peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + (position + 1) + " in \"" + input + "\"");
+        }
+    }
+}
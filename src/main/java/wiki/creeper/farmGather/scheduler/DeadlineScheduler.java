@@ -0,0 +1,139 @@
+package wiki.creeper.farmGather.scheduler;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+import wiki.creeper.farmGather.FarmGather;
+
+/**
+ * Shared per-player deadline registry driven by a {@link TimingWheel} that advances once per server
+ * tick. Each player holds at most one pending deadline per channel; scheduling again on the same
+ * channel replaces the previous one. Callbacks run on the main thread, and every method must be called
+ * from it.
+ */
+public class DeadlineScheduler implements Listener {
+    public static final long MILLIS_PER_TICK = 50L;
+
+    private final FarmGather plugin;
+    private final TimingWheel<Deadline> wheel = new TimingWheel<>(1L);
+    private final Map<UUID, Map<String, TimingWheel.Timeout<Deadline>>> pending = new HashMap<>();
+
+    private BukkitTask task;
+    private long tick;
+
+    public DeadlineScheduler(FarmGather plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        stop();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        wheel.clear();
+        pending.clear();
+    }
+
+    /**
+     * Runs {@code action} on the first server tick at or after {@code deadlineMillis}.
+     */
+    public void schedule(UUID playerId, String channel, long deadlineMillis, Runnable action) {
+        long delayMillis = deadlineMillis - System.currentTimeMillis();
+        long delayTicks = delayMillis <= 0 ? 1 : (delayMillis + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK;
+        scheduleTicks(playerId, channel, delayTicks, action);
+    }
+
+    public void scheduleTicks(UUID playerId, String channel, long delayTicks, Runnable action) {
+        cancel(playerId, channel);
+        Deadline deadline = new Deadline(playerId, channel, action);
+        TimingWheel.Timeout<Deadline> timeout = wheel.schedule(tick + Math.max(1L, delayTicks), deadline);
+        pending.computeIfAbsent(playerId, key -> new HashMap<>()).put(channel, timeout);
+    }
+
+    public boolean isPending(UUID playerId, String channel) {
+        Map<String, TimingWheel.Timeout<Deadline>> channels = pending.get(playerId);
+        return channels != null && channels.containsKey(channel);
+    }
+
+    public void cancel(UUID playerId, String channel) {
+        Map<String, TimingWheel.Timeout<Deadline>> channels = pending.get(playerId);
+        if (channels == null) {
+            return;
+        }
+        TimingWheel.Timeout<Deadline> timeout = channels.remove(channel);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        if (channels.isEmpty()) {
+            pending.remove(playerId);
+        }
+    }
+
+    public void cancelChannel(String channel) {
+        Iterator<Map<String, TimingWheel.Timeout<Deadline>>> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            Map<String, TimingWheel.Timeout<Deadline>> channels = iterator.next();
+            TimingWheel.Timeout<Deadline> timeout = channels.remove(channel);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            if (channels.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public void cancelAll(UUID playerId) {
+        Map<String, TimingWheel.Timeout<Deadline>> channels = pending.remove(playerId);
+        if (channels != null) {
+            channels.values().forEach(TimingWheel.Timeout::cancel);
+        }
+    }
+
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    // Registered late so quit handlers of other services can still act on their deadlines.
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        cancelAll(event.getPlayer().getUniqueId());
+    }
+
+    private void tick() {
+        tick++;
+        wheel.advance(tick, this::fire);
+    }
+
+    private void fire(Deadline deadline) {
+        Map<String, TimingWheel.Timeout<Deadline>> channels = pending.get(deadline.playerId());
+        if (channels != null) {
+            TimingWheel.Timeout<Deadline> timeout = channels.get(deadline.channel());
+            if (timeout != null && timeout.payload() == deadline) {
+                channels.remove(deadline.channel());
+                if (channels.isEmpty()) {
+                    pending.remove(deadline.playerId());
+                }
+            }
+        }
+        try {
+            deadline.action().run();
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("Deadline " + deadline.channel() + " failed for " + deadline.playerId() + ": " + ex.getMessage());
+        }
+    }
+
+    private record Deadline(UUID playerId, String channel, Runnable action) {
+    }
+}
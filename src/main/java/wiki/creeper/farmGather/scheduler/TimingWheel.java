@@ -0,0 +1,204 @@
+package wiki.creeper.farmGather.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed by tick number. Four levels of 64 slots cover about 16.7 million
+ * ticks; later deadlines are parked in the outermost level and re-inserted until they come due.
+ * Scheduling and cancelling are O(1); advancing one tick touches only the timers in the slot that
+ * expires plus, every 64 ticks, one slot cascaded down from the next level.
+ *
+ * <p>Not thread-safe. The wheel is meant to be owned and advanced by a single thread.
+ */
+public final class TimingWheel<T> {
+    private static final int WHEEL_BITS = 6;
+    private static final int SLOTS = 1 << WHEEL_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    private static final int IDLE = -1;
+    private static final int DETACHED = -2;
+
+    @SuppressWarnings("unchecked")
+    private final Timeout<T>[][] wheels = new Timeout[LEVELS][SLOTS];
+    private long nextTick;
+    private int size;
+
+    public TimingWheel(long startTick) {
+        this.nextTick = startTick;
+    }
+
+    public long currentTick() {
+        return nextTick - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Timeout<T> schedule(long deadlineTick, T payload) {
+        Timeout<T> timeout = new Timeout<>(this, deadlineTick, payload);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.owner != this || timeout.level == IDLE) {
+            return false;
+        }
+        if (timeout.level == DETACHED) {
+            // Taken out of its slot by advance() but not handled yet; the loop skips it.
+            timeout.level = IDLE;
+        } else {
+            unlink(timeout);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to and including {@code tick}, handing the payload of each expired timer
+     * to {@code expired}. A timer whose deadline has already passed when it is scheduled, including one
+     * scheduled from inside the callback, fires on the next tick processed.
+     */
+    public void advance(long tick, Consumer<? super T> expired) {
+        while (nextTick <= tick) {
+            long current = nextTick;
+            int index = (int) (current & MASK);
+            if (index == 0) {
+                cascade(current, 1);
+            }
+            Timeout<T> timeout = detach(0, index);
+            nextTick++;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                if (timeout.level == DETACHED) {
+                    if (timeout.deadline > current) {
+                        insert(timeout);
+                    } else {
+                        timeout.level = IDLE;
+                        size--;
+                        expired.accept(timeout.payload);
+                    }
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    public void clear() {
+        for (Timeout<T>[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                for (Timeout<T> timeout = wheel[i]; timeout != null; timeout = timeout.next) {
+                    timeout.level = IDLE;
+                }
+                wheel[i] = null;
+            }
+        }
+        size = 0;
+    }
+
+    private void cascade(long current, int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int index = (int) ((current >>> (WHEEL_BITS * level)) & MASK);
+        if (index == 0) {
+            cascade(current, level + 1);
+        }
+        Timeout<T> timeout = detach(level, index);
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long delta = timeout.deadline - nextTick;
+        long placed;
+        if (delta < 0) {
+            placed = nextTick;
+            delta = 0;
+        } else if (delta > MAX_SPAN) {
+            placed = nextTick + MAX_SPAN;
+            delta = MAX_SPAN;
+        } else {
+            placed = timeout.deadline;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((placed >>> (WHEEL_BITS * level)) & MASK);
+        Timeout<T> head = wheels[level][index];
+        timeout.level = level;
+        timeout.index = index;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheels[level][index] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheels[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = IDLE;
+    }
+
+    private Timeout<T> detach(int level, int index) {
+        Timeout<T> head = wheels[level][index];
+        wheels[level][index] = null;
+        for (Timeout<T> timeout = head; timeout != null; timeout = timeout.next) {
+            timeout.level = DETACHED;
+        }
+        return head;
+    }
+
+    public static final class Timeout<T> {
+        private final TimingWheel<T> owner;
+        private final long deadline;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = IDLE;
+        private int index;
+
+        private Timeout(TimingWheel<T> owner, long deadline, T payload) {
+            this.owner = owner;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public boolean isPending() {
+            return level != IDLE;
+        }
+
+        public boolean cancel() {
+            return owner.cancel(this);
+        }
+    }
+}
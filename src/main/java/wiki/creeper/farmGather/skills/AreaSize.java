@@ -0,0 +1,28 @@
+package wiki.creeper.farmGather.skills;
+
+import java.util.Locale;
+
+/**
+ * Horizontal skill area parsed from strings such as {@code "5x5"}.
+ */
+public record AreaSize(int width, int depth) {
+    public static AreaSize parse(String value, AreaSize fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        String[] parts = value.trim().toLowerCase(Locale.ROOT).split("x");
+        if (parts.length != 2) {
+            return fallback;
+        }
+        try {
+            int width = Integer.parseInt(parts[0].trim());
+            int depth = Integer.parseInt(parts[1].trim());
+            if (width < 1 || depth < 1) {
+                return fallback;
+            }
+            return new AreaSize(width, depth);
+        } catch (NumberFormatException ex) {
+            return fallback;
+        }
+    }
+}
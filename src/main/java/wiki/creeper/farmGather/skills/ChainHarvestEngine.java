@@ -0,0 +1,233 @@
+package wiki.creeper.farmGather.skills;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.harvest.HarvestResult;
+import wiki.creeper.farmGather.harvest.HarvestableRegistry;
+
+/**
+ * Runs Shears chains: a breadth-first spread from the clicked block to neighbouring harvestables, one
+ * BFS layer per hop. All chains share a single tick task and a global per-tick block budget, served
+ * round-robin, so many players chaining at once cannot stretch a tick; work that does not fit simply
+ * carries over to the next tick. A chain ends when its player quits or changes world. Every method must
+ * be called from the main thread.
+ */
+public class ChainHarvestEngine implements Listener {
+    private final FarmGather plugin;
+    private final HarvestableRegistry harvestableRegistry;
+    private final ArrayDeque<Chain> queue = new ArrayDeque<>();
+    private final Map<UUID, Chain> chains = new HashMap<>();
+
+    private PluginConfig.SkillsConfig.ShearsConfig config;
+    private BukkitTask task;
+    private long tick;
+
+    public ChainHarvestEngine(FarmGather plugin,
+                              HarvestableRegistry harvestableRegistry,
+                              PluginConfig.SkillsConfig.ShearsConfig config) {
+        this.plugin = plugin;
+        this.harvestableRegistry = harvestableRegistry;
+        this.config = config;
+    }
+
+    public void start() {
+        stop();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+        chains.clear();
+    }
+
+    public void reload(PluginConfig.SkillsConfig.ShearsConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Starts a chain from {@code origin}, which the caller has already harvested. Neighbours within
+     * {@code area} are harvested on the following hops, up to {@code maxTargets} blocks including the
+     * origin. Replaces any chain the player still has running.
+     */
+    public void begin(Player player, Block origin, AreaSize area, int maxTargets) {
+        cancel(player.getUniqueId());
+        Chain chain = new Chain(player.getUniqueId(), origin.getWorld(), area, maxTargets);
+        chain.visited.add(origin.getBlockKey());
+        chain.discovered = 1;
+        expand(chain, origin);
+        if (chain.nextLayer.isEmpty()) {
+            return;
+        }
+        chain.advanceLayer(tick + hopDelayTicks());
+        chains.put(chain.playerId, chain);
+        queue.addLast(chain);
+    }
+
+    public void cancel(UUID playerId) {
+        Chain chain = chains.remove(playerId);
+        if (chain != null) {
+            chain.cancelled = true;
+        }
+    }
+
+    public boolean isRunning(UUID playerId) {
+        return chains.containsKey(playerId);
+    }
+
+    public int activeCount() {
+        return chains.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        cancel(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        cancel(event.getPlayer().getUniqueId());
+    }
+
+    private void tick() {
+        tick++;
+        int budget = Math.max(1, config.tickBlockBudget());
+        int rounds = queue.size();
+        while (rounds-- > 0 && budget > 0) {
+            Chain chain = queue.pollFirst();
+            if (chain.cancelled) {
+                continue;
+            }
+            if (chain.readyTick > tick) {
+                queue.addLast(chain);
+                continue;
+            }
+            budget -= step(chain, budget);
+            if (chain.cancelled) {
+                continue;
+            }
+            if (chain.layer.isEmpty() && chain.nextLayer.isEmpty()) {
+                finish(chain);
+            } else {
+                queue.addLast(chain);
+            }
+        }
+    }
+
+    /**
+     * Harvests up to {@code budget} blocks of the chain's current layer as one follow-up batch and
+     * returns how many block positions it used.
+     */
+    private int step(Chain chain, int budget) {
+        Player player = plugin.getServer().getPlayer(chain.playerId);
+        if (player == null || !player.getWorld().equals(chain.world)) {
+            finish(chain);
+            return 0;
+        }
+        List<Block> batch = new ArrayList<>(Math.min(budget, chain.layer.size()));
+        int used = 0;
+        while (used < budget && !chain.layer.isEmpty()) {
+            Block block = chain.layer.pollFirst();
+            used++;
+            if (harvestableRegistry.lookup(block.getType()) != null) {
+                batch.add(block);
+            }
+        }
+        if (!batch.isEmpty()) {
+            HarvestResult result = plugin.getHarvestManager().harvestFollowUp(player, batch.get(0), batch, config.xpOthers());
+            if (!result.success()) {
+                finish(chain);
+                return used;
+            }
+            for (Block block : batch) {
+                expand(chain, block);
+            }
+        }
+        if (chain.layer.isEmpty() && !chain.nextLayer.isEmpty()) {
+            chain.advanceLayer(tick + hopDelayTicks());
+        }
+        return used;
+    }
+
+    private void expand(Chain chain, Block from) {
+        int radiusX = (chain.area.width() - 1) / 2;
+        int radiusZ = (chain.area.depth() - 1) / 2;
+        int y = from.getY();
+        for (int dx = -radiusX; dx <= radiusX; dx++) {
+            for (int dz = -radiusZ; dz <= radiusZ; dz++) {
+                if (chain.discovered >= chain.maxTargets) {
+                    return;
+                }
+                int x = from.getX() + dx;
+                int z = from.getZ() + dz;
+                if (!chain.world.isChunkLoaded(x >> 4, z >> 4)) {
+                    continue;
+                }
+                if (harvestableRegistry.lookup(chain.world.getType(x, y, z)) == null) {
+                    continue;
+                }
+                if (!chain.visited.add(Block.getBlockKey(x, y, z))) {
+                    continue;
+                }
+                chain.nextLayer.addLast(chain.world.getBlockAt(x, y, z));
+                chain.discovered++;
+            }
+        }
+    }
+
+    private void finish(Chain chain) {
+        chain.cancelled = true;
+        chains.remove(chain.playerId, chain);
+    }
+
+    private long hopDelayTicks() {
+        return Math.max(1L, Math.round(config.hopDelaySec() * 20.0));
+    }
+
+    private static final class Chain {
+        private final UUID playerId;
+        private final World world;
+        private final AreaSize area;
+        private final int maxTargets;
+        private final Set<Long> visited = new HashSet<>();
+        private ArrayDeque<Block> layer = new ArrayDeque<>();
+        private ArrayDeque<Block> nextLayer = new ArrayDeque<>();
+        private int discovered;
+        private long readyTick;
+        private boolean cancelled;
+
+        private Chain(UUID playerId, World world, AreaSize area, int maxTargets) {
+            this.playerId = playerId;
+            this.world = world;
+            this.area = area;
+            this.maxTargets = maxTargets;
+        }
+
+        private void advanceLayer(long readyTick) {
+            ArrayDeque<Block> drained = layer;
+            layer = nextLayer;
+            nextLayer = drained;
+            this.readyTick = readyTick;
+        }
+    }
+}
@@ -1,20 +1,42 @@
 package wiki.creeper.farmGather.skills;
 
-import java.util.Collections;
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Set;
 import wiki.creeper.farmGather.player.HoeSkillType;
 
+/**
+ * Cooldown end times indexed by {@link HoeSkillType#ordinal()}. The query methods return primitives so
+ * that UI refreshes can read cooldowns without allocating.
+ */
 class PlayerSkillState {
-    private final Map<HoeSkillType, Long> cooldowns = new EnumMap<>(HoeSkillType.class);
+    private static final HoeSkillType[] TYPES = HoeSkillType.values();
+
+    private final long[] cooldownEnds = new long[TYPES.length];
     private long focusActiveUntil;
 
     public long getCooldownEnd(HoeSkillType type) {
-        return cooldowns.getOrDefault(type, 0L);
+        return cooldownEnds[type.ordinal()];
     }
 
     public void setCooldownEnd(HoeSkillType type, long end) {
-        cooldowns.put(type, end);
+        cooldownEnds[type.ordinal()] = end;
+    }
+
+    public long remainingMillis(HoeSkillType type, long now) {
+        return Math.max(0L, cooldownEnds[type.ordinal()] - now);
+    }
+
+    public long longestRemainingMillis(Set<HoeSkillType> types, long now) {
+        long longest = 0L;
+        for (HoeSkillType type : TYPES) {
+            if (types.contains(type)) {
+                longest = Math.max(longest, cooldownEnds[type.ordinal()] - now);
+            }
+        }
+        return longest;
+    }
+
+    public boolean hasCooldown(HoeSkillType type) {
+        return cooldownEnds[type.ordinal()] != 0L;
     }
 
     public long getFocusActiveUntil() {
@@ -24,8 +46,4 @@ class PlayerSkillState {
     public void setFocusActiveUntil(long focusActiveUntil) {
         this.focusActiveUntil = focusActiveUntil;
     }
-
-    public Map<HoeSkillType, Long> snapshotCooldowns() {
-        return Collections.unmodifiableMap(new EnumMap<>(cooldowns));
-    }
 }
@@ -1,9 +1,12 @@
 package wiki.creeper.farmGather.skills;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -14,51 +17,80 @@ import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.EquipmentSlot;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.harvest.AreaPattern;
+import wiki.creeper.farmGather.harvest.HarvestManager;
+import wiki.creeper.farmGather.harvest.HarvestResult;
+import wiki.creeper.farmGather.item.HeldHoeCache;
 import wiki.creeper.farmGather.player.HoeSkill;
 import wiki.creeper.farmGather.player.HoeSkillType;
 import wiki.creeper.farmGather.player.PlayerProfile;
 import wiki.creeper.farmGather.player.ProfileManager;
-import wiki.creeper.farmGather.util.ItemUtil;
+import wiki.creeper.farmGather.scheduler.DeadlineScheduler;
+import wiki.creeper.farmGather.ui.NotificationService;
+import wiki.creeper.farmGather.util.HoeIdentity;
 import wiki.creeper.farmGather.util.Text;
 
 public class SkillManager implements Listener {
+    private static final long AFK_THRESHOLD_MILLIS = 60_000L;
+    private static final AreaSize DEFAULT_SWEEP_AREA = new AreaSize(5, 5);
+    private static final AreaSize DEFAULT_CHAIN_AREA = new AreaSize(3, 3);
+    private static final String FOCUS_END_CHANNEL = "skill-focus-end";
+
     private final FarmGather plugin;
     private final ProfileManager profileManager;
+    private final HeldHoeCache heldHoeCache;
+    private final DeadlineScheduler deadlines;
+    private final ChainHarvestEngine chainEngine;
     private final Map<UUID, PlayerSkillState> states = new ConcurrentHashMap<>();
 
     private PluginConfig.SkillsConfig config;
-    private BukkitTask energyTask;
+    private AreaPattern sweepArea;
+    private AreaSize chainArea;
 
-    public SkillManager(FarmGather plugin, ProfileManager profileManager, PluginConfig.SkillsConfig config) {
+    public SkillManager(FarmGather plugin,
+                        ProfileManager profileManager,
+                        HeldHoeCache heldHoeCache,
+                        DeadlineScheduler deadlines,
+                        ChainHarvestEngine chainEngine,
+                        PluginConfig.SkillsConfig config) {
         this.plugin = plugin;
         this.profileManager = profileManager;
-        this.config = config;
-    }
-
-    public void start() {
-        stop();
-        long periodTicks = 20L;
-        this.energyTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tickEnergy, periodTicks, periodTicks);
+        this.heldHoeCache = heldHoeCache;
+        this.deadlines = deadlines;
+        this.chainEngine = chainEngine;
+        applyConfig(config);
     }
 
+    /**
+     * Settles energy for every online player so the snapshot written on shutdown is current.
+     */
     public void stop() {
-        if (energyTask != null) {
-            energyTask.cancel();
-            energyTask = null;
-        }
+        settleOnlinePlayers();
     }
 
     public void reload(PluginConfig.SkillsConfig config) {
+        settleOnlinePlayers();
+        applyConfig(config);
+    }
+
+    // Area sizes are parsed and the sweep order precomputed here, never per cast.
+    private void applyConfig(PluginConfig.SkillsConfig config) {
         this.config = config;
+        AreaSize sweepSize = AreaSize.parse(config.sweep().size(), DEFAULT_SWEEP_AREA);
+        this.sweepArea = AreaPattern.of(sweepSize.width(), sweepSize.depth());
+        this.chainArea = AreaSize.parse(config.shears().chainSize(), DEFAULT_CHAIN_AREA);
     }
 
-    @EventHandler
+    // Runs before the connection listener unloads and saves the profile.
+    @EventHandler(priority = EventPriority.LOW)
     public void onPlayerQuit(PlayerQuitEvent event) {
         states.remove(event.getPlayer().getUniqueId());
+        PlayerProfile profile = profileManager.getProfile(event.getPlayer());
+        if (profile != null) {
+            settleEnergy(profile, System.currentTimeMillis());
+        }
     }
 
     @EventHandler
@@ -80,7 +112,8 @@ public class SkillManager implements Listener {
             return;
         }
         Player player = event.getPlayer();
-        if (!ItemUtil.isFarmHoe(player.getInventory().getItemInMainHand(), plugin)) {
+        HoeIdentity identity = heldHoeCache.get(player);
+        if (!identity.farmHoe()) {
             return;
         }
         event.setCancelled(true);
@@ -89,7 +122,25 @@ public class SkillManager implements Listener {
             return;
         }
 
-        refreshActiveHoeSkill(player, profile);
+        identity.skill().ifPresent(profile::setSkill);
+
+        if (identity.skillType() == HoeSkillType.SHEARS) {
+            HoeSkill shearsSkill = profile.getSkill(HoeSkillType.SHEARS);
+            if (shearsSkill != null && config.shears().enabled()
+                    && event.getAction() == Action.LEFT_CLICK_BLOCK && event.getClickedBlock() != null) {
+                handleShears(player, profile, shearsSkill, event.getClickedBlock());
+            }
+            return;
+        }
+
+        if (identity.skillType() == HoeSkillType.SWEEP) {
+            HoeSkill sweepSkill = profile.getSkill(HoeSkillType.SWEEP);
+            if (sweepSkill != null && config.sweep().enabled()
+                    && event.getAction() == Action.LEFT_CLICK_BLOCK && event.getClickedBlock() != null) {
+                handleSweep(player, profile, sweepSkill, event.getClickedBlock());
+            }
+            return;
+        }
 
         HoeSkill focusSkill = profile.getSkill(HoeSkillType.FOCUS);
         if (focusSkill != null && config.focus().enabled()) {
@@ -102,15 +153,10 @@ public class SkillManager implements Listener {
         if (profile == null) {
             return;
         }
-        refreshActiveHoeSkill(player, profile);
-    }
-
-    private void refreshActiveHoeSkill(Player player, PlayerProfile profile) {
-        ItemStack mainHand = player.getInventory().getItemInMainHand();
-        if (!ItemUtil.isFarmHoe(mainHand, plugin)) {
-            return;
+        HoeIdentity identity = heldHoeCache.get(player);
+        if (identity.farmHoe()) {
+            identity.skill().ifPresent(profile::setSkill);
         }
-        ItemUtil.readHoeSkill(mainHand, plugin).ifPresent(profile::setSkill);
     }
 
     private void handleFocus(Player player, PlayerProfile profile, HoeSkill skill) {
@@ -124,49 +170,154 @@ public class SkillManager implements Listener {
         }
 
         double energyCost = config.focus().energyCost();
-        if (profile.getEnergy() < energyCost) {
-            player.sendMessage(Text.colorize(plugin.getPluginConfig().notifications().energyMissing()));
+        double energy = currentEnergy(profile, now);
+        if (energy < energyCost) {
+            plugin.getNotificationService().send(player, NotificationService.Notification.ENERGY_MISSING);
             return;
         }
 
-        profile.setEnergy(Math.max(0, profile.getEnergy() - energyCost));
+        profile.setEnergy(Math.max(0, energy - energyCost));
         profile.setLastEnergyTick(now);
 
         double duration = config.focus().durationBase() + (skill.getLevel() - 1) * config.focus().durationPerLevel();
         long focusUntil = now + (long) (duration * 1000);
         state.setFocusActiveUntil(focusUntil);
         profile.setComboOverride(3.0, focusUntil);
+        deadlines.schedule(player.getUniqueId(), FOCUS_END_CHANNEL, focusUntil, () -> endFocus(player, focusUntil));
 
         beginCooldown(player, HoeSkillType.FOCUS, config.focus().cooldown());
 
         player.sendMessage(Text.colorize("&b집중 스킬을 발동했습니다!"));
     }
 
-    private void tickEnergy() {
-        double maxEnergy = config.energy().max();
-        double regenAmount = config.energy().regenPerSec();
-        boolean regenIfAfk = config.energy().regenIfAfk();
+    private void handleSweep(Player player, PlayerProfile profile, HoeSkill skill, Block origin) {
+        PlayerSkillState state = stateFor(player.getUniqueId());
         long now = System.currentTimeMillis();
+        long cooldownEnd = state.getCooldownEnd(HoeSkillType.SWEEP);
+        if (now < cooldownEnd) {
+            long remaining = cooldownEnd - now;
+            player.sendMessage(Text.colorize("&c" + (remaining / 1000 + 1) + "초 후 사용 가능합니다."));
+            return;
+        }
+
+        PluginConfig.SkillsConfig.SweepConfig sweep = config.sweep();
+        double energyCost = sweep.energyCost();
+        if (currentEnergy(profile, now) < energyCost) {
+            plugin.getNotificationService().send(player, NotificationService.Notification.ENERGY_MISSING);
+            return;
+        }
 
+        HarvestManager harvestManager = plugin.getHarvestManager();
+        List<Block> targets = harvestManager.collectArea(origin, sweepArea, sweep.maxTargets());
+        if (targets.isEmpty()) {
+            return;
+        }
+        HarvestResult result = harvestManager.harvestBatch(player, origin, targets, sweep.xpFirst(), sweep.xpOthers());
+        if (!result.success()) {
+            return;
+        }
+
+        // harvestBatch settled energy at its own timestamp; spend from the settled snapshot.
+        profile.setEnergy(Math.max(0, profile.getEnergy() - energyCost));
+
+        double cooldown = Math.max(0, sweep.cdBase() - (skill.getLevel() - 1) * sweep.cdPerLevelMinus());
+        beginCooldown(player, HoeSkillType.SWEEP, cooldown);
+
+        player.sendMessage(Text.colorize("&a휩쓸기로 " + targets.size() + "개의 작물을 수확했습니다!"));
+    }
+
+    private void handleShears(Player player, PlayerProfile profile, HoeSkill skill, Block origin) {
+        HarvestManager harvestManager = plugin.getHarvestManager();
+        if (!harvestManager.isHarvestable(origin)) {
+            return;
+        }
+        PlayerSkillState state = stateFor(player.getUniqueId());
+        long now = System.currentTimeMillis();
+        long cooldownEnd = state.getCooldownEnd(HoeSkillType.SHEARS);
+        if (now < cooldownEnd) {
+            long remaining = cooldownEnd - now;
+            player.sendMessage(Text.colorize("&c" + (remaining / 1000 + 1) + "초 후 사용 가능합니다."));
+            return;
+        }
+
+        PluginConfig.SkillsConfig.ShearsConfig shears = config.shears();
+        double energyCost = Math.max(0, shears.energyCostBase() - (skill.getLevel() - 1) * shears.energyCostPerLevelMinus());
+        if (currentEnergy(profile, now) < energyCost) {
+            plugin.getNotificationService().send(player, NotificationService.Notification.ENERGY_MISSING);
+            return;
+        }
+
+        HarvestResult result = harvestManager.harvestBatch(player, origin, List.of(origin), shears.xpFirst(), shears.xpOthers());
+        if (!result.success()) {
+            return;
+        }
+
+        profile.setEnergy(Math.max(0, profile.getEnergy() - energyCost));
+        beginCooldown(player, HoeSkillType.SHEARS, shears.cooldown());
+
+        chainEngine.begin(player, origin, chainArea, shears.maxChainTargets());
+
+        player.sendMessage(Text.colorize("&a연쇄 수확을 시작했습니다!"));
+    }
+
+    private void endFocus(Player player, long focusUntil) {
+        PlayerSkillState state = states.get(player.getUniqueId());
+        if (state != null && state.getFocusActiveUntil() == focusUntil) {
+            state.setFocusActiveUntil(0L);
+        }
+        PlayerProfile profile = profileManager.getProfile(player);
+        if (profile != null && profile.getComboOverrideUntil() == focusUntil) {
+            profile.clearComboOverride();
+        }
+    }
+
+    /**
+     * Returns the energy the profile has at {@code now}. The stored energy is only a snapshot taken at
+     * {@code lastEnergyTick}; regeneration since then is derived here instead of being applied by a
+     * periodic task. Unless {@code regen_if_afk} is set, regeneration stops once the player has gone
+     * {@value #AFK_THRESHOLD_MILLIS} ms without harvesting.
+     */
+    public double currentEnergy(PlayerProfile profile, long now) {
+        PluginConfig.SkillsConfig.EnergyConfig energy = config.energy();
+        double stored = profile.getEnergy();
+        if (stored >= energy.max()) {
+            return stored;
+        }
+        long anchor = profile.getLastEnergyTick();
+        long regenEnd = now;
+        long lastAction = profile.getLastHarvestAt();
+        if (!energy.regenIfAfk() && lastAction != 0) {
+            regenEnd = Math.min(regenEnd, lastAction + AFK_THRESHOLD_MILLIS);
+        }
+        if (regenEnd <= anchor) {
+            return stored;
+        }
+        return Math.min(energy.max(), stored + energy.regenPerSec() * (regenEnd - anchor) / 1000.0);
+    }
+
+    /**
+     * Folds regeneration up to {@code now} into the stored energy. Call this before anything that
+     * changes the inputs of {@link #currentEnergy}, such as the last harvest time.
+     */
+    public void settleEnergy(PlayerProfile profile, long now) {
+        profile.setEnergy(currentEnergy(profile, now));
+        profile.setLastEnergyTick(now);
+    }
+
+    private void settleOnlinePlayers() {
+        long now = System.currentTimeMillis();
         for (Player player : Bukkit.getOnlinePlayers()) {
             PlayerProfile profile = profileManager.getProfile(player);
-            if (profile == null) {
-                continue;
+            if (profile != null) {
+                settleEnergy(profile, now);
             }
-            double current = profile.getEnergy();
-            if (current >= maxEnergy) {
-                continue;
-            }
-            long lastAction = profile.getLastHarvestAt();
-            if (!regenIfAfk && lastAction != 0 && (now - lastAction) > 60_000) {
-                continue;
-            }
-            double next = Math.min(maxEnergy, current + regenAmount);
-            profile.setEnergy(next);
-            profile.setLastEnergyTick(now);
         }
     }
 
+    /**
+     * Remaining cooldown per skill that has been used this session, in seconds. Allocates; hot paths
+     * should use {@link #remainingMillis} or {@link #longestRemainingMillis} instead.
+     */
     public Map<HoeSkillType, Double> snapshotCooldowns(Player player) {
         PlayerSkillState state = states.get(player.getUniqueId());
         if (state == null) {
@@ -174,25 +325,26 @@ public class SkillManager implements Listener {
         }
         long now = System.currentTimeMillis();
         Map<HoeSkillType, Double> result = new java.util.EnumMap<>(HoeSkillType.class);
-        for (var entry : state.snapshotCooldowns().entrySet()) {
-            long end = entry.getValue();
-            double remaining = Math.max(0, (end - now) / 1000.0);
-            result.put(entry.getKey(), remaining);
+        for (HoeSkillType type : HoeSkillType.values()) {
+            if (state.hasCooldown(type)) {
+                result.put(type, state.remainingMillis(type, now) / 1000.0);
+            }
         }
         return result;
     }
 
-    public double getCooldownSeconds(Player player, HoeSkillType type) {
+    public long remainingMillis(Player player, HoeSkillType type, long now) {
         PlayerSkillState state = states.get(player.getUniqueId());
-        if (state == null) {
-            return 0.0;
-        }
-        long now = System.currentTimeMillis();
-        long end = state.getCooldownEnd(type);
-        if (end <= now) {
-            return 0.0;
-        }
-        return (end - now) / 1000.0;
+        return state == null ? 0L : state.remainingMillis(type, now);
+    }
+
+    public long longestRemainingMillis(Player player, Set<HoeSkillType> types, long now) {
+        PlayerSkillState state = states.get(player.getUniqueId());
+        return state == null ? 0L : state.longestRemainingMillis(types, now);
+    }
+
+    public double getCooldownSeconds(Player player, HoeSkillType type) {
+        return remainingMillis(player, type, System.currentTimeMillis()) / 1000.0;
     }
 
     public void beginCooldown(Player player, HoeSkillType type, double cooldownSeconds) {
@@ -203,6 +355,7 @@ public class SkillManager implements Listener {
         long now = System.currentTimeMillis();
         long durationMillis = cooldownSeconds <= 0 ? 0 : (long) Math.ceil(cooldownSeconds * 1000.0);
         state.setCooldownEnd(type, now + durationMillis);
+        notifyCooldownChanged(player);
     }
 
     public void beginCooldown(Player player, HoeSkillType type, long cooldownMillis) {
@@ -220,6 +373,14 @@ public class SkillManager implements Listener {
         PlayerSkillState state = states.get(player.getUniqueId());
         if (state != null) {
             state.setCooldownEnd(type, 0L);
+            notifyCooldownChanged(player);
+        }
+    }
+
+    private void notifyCooldownChanged(Player player) {
+        var cooldownUi = plugin.getCooldownUiService();
+        if (cooldownUi != null) {
+            cooldownUi.refresh(player);
         }
     }
 
@@ -1,5 +1,9 @@
 package wiki.creeper.farmGather.storage;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -34,7 +38,7 @@ public class HybridPlayerDataStore implements PlayerDataStore {
                             return CompletableFuture.completedFuture(Optional.empty());
                         }
                         PlayerProfile profile = primaryResult.get();
-                        return cache.saveProfile(profile)
+                        return cache.cacheProfile(profile)
                                 .exceptionally(throwable -> {
                                     logger.log(Level.WARNING, "Failed to cache FarmGather profile into Redis", throwable);
                                     return null;
@@ -45,16 +49,77 @@ public class HybridPlayerDataStore implements PlayerDataStore {
     }
 
     @Override
-    public CompletableFuture<Void> saveProfile(PlayerProfile profile) {
-        CompletableFuture<Void> primaryFuture = primary.saveProfile(profile);
-        CompletableFuture<Void> cacheFuture = cache.saveProfile(profile)
+    public CompletableFuture<Map<UUID, PlayerProfile>> loadProfiles(Collection<UUID> uuids) {
+        return cache.loadProfiles(uuids)
                 .exceptionally(throwable -> {
-                    logger.log(Level.WARNING, "Failed to cache FarmGather profile into Redis", throwable);
-                    return null;
+                    logger.log(Level.WARNING, "Failed to load FarmGather profiles from Redis cache", throwable);
+                    return Map.of();
+                })
+                .thenCompose(cached -> {
+                    List<UUID> misses = uuids.stream()
+                            .filter(uuid -> !cached.containsKey(uuid))
+                            .toList();
+                    if (misses.isEmpty()) {
+                        return CompletableFuture.completedFuture(cached);
+                    }
+                    return primary.loadProfiles(misses).thenCompose(loaded -> {
+                        Map<UUID, PlayerProfile> result = new HashMap<>(cached);
+                        result.putAll(loaded);
+                        if (loaded.isEmpty()) {
+                            return CompletableFuture.completedFuture(result);
+                        }
+                        return cache.cacheProfiles(loaded.values())
+                                .exceptionally(throwable -> {
+                                    logger.log(Level.WARNING, "Failed to cache FarmGather profiles into Redis", throwable);
+                                    return null;
+                                })
+                                .thenApply(ignored -> result);
+                    });
                 });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveProfile(PlayerProfile profile) {
+        CompletableFuture<Void> primaryFuture = primary.saveProfile(profile);
+        CompletableFuture<Void> cacheFuture = evictOnFailure(cache.saveProfile(profile), List.of(profile.getUuid()));
         return primaryFuture.thenCombine(cacheFuture, (a, b) -> null);
     }
 
+    @Override
+    public CompletableFuture<Void> saveProfiles(Collection<PlayerProfile> profiles) {
+        CompletableFuture<Void> primaryFuture = primary.saveProfiles(profiles);
+        List<UUID> uuids = profiles.stream().map(PlayerProfile::getUuid).toList();
+        CompletableFuture<Void> cacheFuture = evictOnFailure(cache.saveProfiles(profiles), uuids);
+        return primaryFuture.thenCombine(cacheFuture, (a, b) -> null);
+    }
+
+    /**
+     * Redis only receives the dirty fields, so a failed cache write would leave those fields stale
+     * for as long as the hash lives, and loads prefer Redis. Drop the cached copies instead, so the
+     * next load falls back to the primary store. If even that fails, the save fails and the profile
+     * stays dirty for a retry.
+     */
+    private CompletableFuture<Void> evictOnFailure(CompletableFuture<Void> cacheWrite, List<UUID> uuids) {
+        return cacheWrite.handle((ignored, throwable) -> throwable)
+                .thenCompose(throwable -> {
+                    if (throwable == null) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    logger.log(Level.WARNING, "Failed to cache FarmGather profiles into Redis; evicting them", throwable);
+                    return cache.evict(uuids);
+                });
+    }
+
+    @Override
+    public int pendingWriteCount() {
+        return primary.pendingWriteCount();
+    }
+
+    @Override
+    public long oldestPendingWriteAgeMillis() {
+        return primary.oldestPendingWriteAgeMillis();
+    }
+
     @Override
     public CompletableFuture<Void> close() {
         return primary.close()
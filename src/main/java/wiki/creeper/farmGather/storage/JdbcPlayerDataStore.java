@@ -5,17 +5,31 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 import wiki.creeper.farmGather.player.HoeSkill;
 import wiki.creeper.farmGather.player.HoeSkillType;
 import wiki.creeper.farmGather.player.PlayerProfile;
+import wiki.creeper.farmGather.player.ProfileField;
 
 public class JdbcPlayerDataStore implements PlayerDataStore {
     public enum Dialect {
@@ -27,36 +41,93 @@ public class JdbcPlayerDataStore implements PlayerDataStore {
         Connection get() throws SQLException;
     }
 
+    public record WriteBehindSettings(boolean enabled, long flushIntervalMillis, int maxBatchSize) {
+        public static WriteBehindSettings disabled() {
+            return new WriteBehindSettings(false, 0L, 100);
+        }
+    }
+
+    private static final int LOAD_CHUNK_SIZE = 200;
     private static final String INSERT_COLUMNS = "uuid, level, xp, mastery, energy, last_energy_tick, last_harvest_at, action_cooldown_end, last_block_type, combo_count, combo_expire_at, combo_override_window, combo_override_until, last_yaw, last_pitch, last_target_distance, hoe_skills, guild_id, last_guild_harvest_at";
 
     private final Dialect dialect;
     private final ConnectionProvider connectionProvider;
-    private final ExecutorService executor;
+    private final StorageExecutor executor;
+    private final ScheduledExecutorService flushScheduler;
+    private final ReentrantLock batchLock = new ReentrantLock();
     private final String upsertSql;
+    private final String selectColumns;
     private final Runnable closeHook;
+    private final WriteBehindSettings writeBehind;
+    private final int maxBatchSize;
+    private final boolean profileBlob;
+    private final boolean blobColumn;
+    private final Map<UUID, PendingWrite> pendingWrites = new LinkedHashMap<>();
 
     public JdbcPlayerDataStore(Dialect dialect, ConnectionProvider connectionProvider) {
         this(dialect, connectionProvider, () -> {});
     }
 
     public JdbcPlayerDataStore(Dialect dialect, ConnectionProvider connectionProvider, Runnable closeHook) {
+        this(dialect, connectionProvider, closeHook, WriteBehindSettings.disabled());
+    }
+
+    public JdbcPlayerDataStore(Dialect dialect,
+                               ConnectionProvider connectionProvider,
+                               Runnable closeHook,
+                               WriteBehindSettings writeBehind) {
+        this(dialect, connectionProvider, closeHook, writeBehind, false);
+    }
+
+    public JdbcPlayerDataStore(Dialect dialect,
+                               ConnectionProvider connectionProvider,
+                               Runnable closeHook,
+                               WriteBehindSettings writeBehind,
+                               boolean profileBlob) {
+        this(dialect, connectionProvider, closeHook, writeBehind, profileBlob, StorageExecutor.platform("FarmGather-DB", 1));
+    }
+
+    public JdbcPlayerDataStore(Dialect dialect,
+                               ConnectionProvider connectionProvider,
+                               Runnable closeHook,
+                               WriteBehindSettings writeBehind,
+                               boolean profileBlob,
+                               StorageExecutor executor) {
         this.dialect = dialect;
         this.connectionProvider = connectionProvider;
         this.closeHook = closeHook == null ? () -> {} : closeHook;
-        this.executor = Executors.newSingleThreadExecutor(createThreadFactory());
+        this.writeBehind = writeBehind == null ? WriteBehindSettings.disabled() : writeBehind;
+        this.maxBatchSize = Math.max(1, this.writeBehind.maxBatchSize());
+        this.profileBlob = profileBlob;
+        this.executor = executor;
+        this.blobColumn = initialize();
+        this.selectColumns = INSERT_COLUMNS + (blobColumn ? ", profile_blob" : "");
         this.upsertSql = buildUpsertSql();
-        initialize();
+        if (this.writeBehind.enabled()) {
+            long interval = Math.max(50L, this.writeBehind.flushIntervalMillis());
+            this.flushScheduler = Executors.newSingleThreadScheduledExecutor(createThreadFactory());
+            flushScheduler.scheduleWithFixedDelay(
+                    () -> executor.run(this::flushPending).exceptionally(throwable -> null).join(),
+                    interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.flushScheduler = null;
+        }
     }
 
     private ThreadFactory createThreadFactory() {
         return runnable -> {
-            Thread thread = new Thread(runnable, "FarmGather-DB");
+            Thread thread = new Thread(runnable, "FarmGather-DB-Flush");
             thread.setDaemon(true);
             return thread;
         };
     }
 
-    private void initialize() {
+    /**
+     * Creates the table and, when the blob copy is enabled, the {@code profile_blob} column. Returns
+     * whether the column exists; writes keep it in sync (or null it out when disabled) so a stale
+     * blob is never preferred over the columns later.
+     */
+    private boolean initialize() {
         try (Connection connection = connectionProvider.get(); Statement statement = connection.createStatement()) {
             statement.execute("CREATE TABLE IF NOT EXISTS player_profiles (" +
                     "uuid VARCHAR(36) PRIMARY KEY," +
@@ -79,14 +150,23 @@ public class JdbcPlayerDataStore implements PlayerDataStore {
                     "guild_id TEXT," +
                     "last_guild_harvest_at BIGINT NOT NULL" +
                     ")");
+            boolean exists;
+            try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, "player_profiles", "profile_blob")) {
+                exists = columns.next();
+            }
+            if (!exists && profileBlob) {
+                statement.execute("ALTER TABLE player_profiles ADD COLUMN profile_blob BLOB");
+                exists = true;
+            }
+            return exists;
         } catch (SQLException ex) {
             throw new IllegalStateException("Failed to initialize player data store", ex);
         }
     }
 
     private String buildUpsertSql() {
-        String placeholders = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
-        String insert = "INSERT INTO player_profiles (" + INSERT_COLUMNS + ") VALUES (" + placeholders + ")";
+        String placeholders = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?" + (blobColumn ? ", ?" : "");
+        String insert = "INSERT INTO player_profiles (" + selectColumns + ") VALUES (" + placeholders + ")";
         return insert + " ON DUPLICATE KEY UPDATE " +
                 "level=VALUES(level)," +
                 "xp=VALUES(xp)," +
@@ -105,15 +185,17 @@ public class JdbcPlayerDataStore implements PlayerDataStore {
                 "last_target_distance=VALUES(last_target_distance)," +
                 "hoe_skills=VALUES(hoe_skills)," +
                 "guild_id=VALUES(guild_id)," +
-                "last_guild_harvest_at=VALUES(last_guild_harvest_at)";
+                "last_guild_harvest_at=VALUES(last_guild_harvest_at)" +
+                (blobColumn ? ",profile_blob=VALUES(profile_blob)" : "");
     }
 
     @Override
     public CompletableFuture<Optional<PlayerProfile>> loadProfile(UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
+            flushPendingFor(uuid);
             try (Connection connection = connectionProvider.get();
                  PreparedStatement statement = connection.prepareStatement(
-                         "SELECT " + INSERT_COLUMNS + " FROM player_profiles WHERE uuid = ?")) {
+                         "SELECT " + selectColumns + " FROM player_profiles WHERE uuid = ?")) {
                 statement.setString(1, uuid.toString());
                 try (ResultSet resultSet = statement.executeQuery()) {
                     if (resultSet.next()) {
@@ -124,24 +206,113 @@ public class JdbcPlayerDataStore implements PlayerDataStore {
             } catch (SQLException ex) {
                 throw new CompletionException(ex);
             }
-        }, executor);
+        });
     }
 
     @Override
-    public CompletableFuture<Void> saveProfile(PlayerProfile profile) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection connection = connectionProvider.get();
-                 PreparedStatement statement = connection.prepareStatement(upsertSql)) {
-                bindProfile(statement, profile);
-                statement.executeUpdate();
+    public CompletableFuture<Map<UUID, PlayerProfile>> loadProfiles(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        List<UUID> snapshot = List.copyOf(uuids);
+        return executor.supply(() -> {
+            flushPendingFor(snapshot);
+            Map<UUID, PlayerProfile> loaded = new HashMap<>();
+            try (Connection connection = connectionProvider.get()) {
+                for (int offset = 0; offset < snapshot.size(); offset += LOAD_CHUNK_SIZE) {
+                    List<UUID> chunk = snapshot.subList(offset, Math.min(snapshot.size(), offset + LOAD_CHUNK_SIZE));
+                    String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "SELECT " + selectColumns + " FROM player_profiles WHERE uuid IN (" + placeholders + ")")) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            statement.setString(i + 1, chunk.get(i).toString());
+                        }
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                UUID uuid = UUID.fromString(resultSet.getString("uuid"));
+                                loaded.put(uuid, mapProfile(uuid, resultSet));
+                            }
+                        }
+                    }
+                }
             } catch (SQLException ex) {
                 throw new CompletionException(ex);
             }
-        }, executor);
+            return loaded;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveProfile(PlayerProfile profile) {
+        if (writeBehind.enabled()) {
+            return enqueue(profile);
+        }
+        return executor.run(() -> writeBatch(List.of(profile)));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveProfiles(Collection<PlayerProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<PlayerProfile> snapshot = List.copyOf(profiles);
+        return executor.run(() -> {
+            batchLock.lock();
+            try {
+                List<PendingWrite> superseded = new ArrayList<>();
+                synchronized (pendingWrites) {
+                    for (PlayerProfile profile : snapshot) {
+                        PendingWrite pending = pendingWrites.remove(profile.getUuid());
+                        if (pending != null) {
+                            superseded.add(pending);
+                        }
+                    }
+                }
+                try {
+                    writeBatch(snapshot);
+                } catch (RuntimeException ex) {
+                    superseded.forEach(pending -> pending.future.completeExceptionally(ex));
+                    throw ex;
+                }
+                superseded.forEach(pending -> pending.future.complete(null));
+            } finally {
+                batchLock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public int pendingWriteCount() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+
+    @Override
+    public long oldestPendingWriteAgeMillis() {
+        synchronized (pendingWrites) {
+            Iterator<PendingWrite> iterator = pendingWrites.values().iterator();
+            if (!iterator.hasNext()) {
+                return 0L;
+            }
+            return Math.max(0L, System.currentTimeMillis() - iterator.next().queuedAt);
+        }
     }
 
     @Override
     public CompletableFuture<Void> close() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+        }
+        try {
+            executor.run(this::flushPending).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // pending futures have already been failed by flushPending
+        } catch (RejectedExecutionException ignored) {
+            // executor already shut down
+        }
         executor.shutdownNow();
         try {
             closeHook.run();
@@ -151,7 +322,216 @@ public class JdbcPlayerDataStore implements PlayerDataStore {
         return CompletableFuture.completedFuture(null);
     }
 
+    private CompletableFuture<Void> enqueue(PlayerProfile profile) {
+        PendingWrite pending;
+        boolean flushNow;
+        synchronized (pendingWrites) {
+            pending = pendingWrites.get(profile.getUuid());
+            if (pending == null) {
+                pending = new PendingWrite(profile, System.currentTimeMillis());
+                pendingWrites.put(profile.getUuid(), pending);
+            } else {
+                pending.profile = profile;
+            }
+            flushNow = pendingWrites.size() >= maxBatchSize;
+        }
+        if (flushNow) {
+            executor.run(this::flushPending);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Drains the write-behind queue. Runs under {@link #batchLock} so a load that flushes its own
+     * player's pending write waits for a drain already in progress instead of reading a stale row.
+     */
+    private void flushPending() {
+        batchLock.lock();
+        try {
+            drainPending();
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private void drainPending() {
+        while (true) {
+            List<PendingWrite> batch = new ArrayList<>();
+            synchronized (pendingWrites) {
+                Iterator<PendingWrite> iterator = pendingWrites.values().iterator();
+                while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                    batch.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            completeBatch(batch);
+        }
+    }
+
+    private void flushPendingFor(UUID uuid) {
+        flushPendingFor(List.of(uuid));
+    }
+
+    private void flushPendingFor(Collection<UUID> uuids) {
+        batchLock.lock();
+        try {
+            flushPendingLocked(uuids);
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private void flushPendingLocked(Collection<UUID> uuids) {
+        List<PendingWrite> batch = new ArrayList<>();
+        synchronized (pendingWrites) {
+            for (UUID uuid : uuids) {
+                PendingWrite pending = pendingWrites.remove(uuid);
+                if (pending != null) {
+                    batch.add(pending);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            completeBatch(batch);
+        }
+    }
+
+    private void completeBatch(List<PendingWrite> batch) {
+        List<PlayerProfile> profiles = new ArrayList<>(batch.size());
+        for (PendingWrite pending : batch) {
+            profiles.add(pending.profile);
+        }
+        try {
+            writeBatch(profiles);
+        } catch (RuntimeException ex) {
+            batch.forEach(pending -> pending.future.completeExceptionally(ex));
+            return;
+        }
+        batch.forEach(pending -> pending.future.complete(null));
+    }
+
+    private void writeBatch(Collection<PlayerProfile> profiles) {
+        List<PlayerProfile> inserts = new ArrayList<>();
+        Map<Long, List<PlayerProfile>> updates = new LinkedHashMap<>();
+        for (PlayerProfile profile : profiles) {
+            long fields = profile.getDirtyFields();
+            if (fields == 0L) {
+                continue;
+            }
+            if (fields == ProfileField.ALL_MASK) {
+                inserts.add(profile);
+            } else {
+                updates.computeIfAbsent(fields, key -> new ArrayList<>()).add(profile);
+            }
+        }
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return;
+        }
+        try (Connection connection = connectionProvider.get()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<Long, List<PlayerProfile>> entry : updates.entrySet()) {
+                    inserts.addAll(executeUpdates(connection, entry.getKey(), entry.getValue()));
+                }
+                executeUpserts(connection, inserts);
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+    private void executeUpserts(Connection connection, List<PlayerProfile> profiles) throws SQLException {
+        if (profiles.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(upsertSql)) {
+            int queued = 0;
+            for (PlayerProfile profile : profiles) {
+                bindProfile(statement, profile);
+                statement.addBatch();
+                if (++queued % maxBatchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (queued % maxBatchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Writes only the given columns. Returns the profiles whose row does not exist yet so the
+     * caller can fall back to a full upsert for them.
+     */
+    private List<PlayerProfile> executeUpdates(Connection connection, long fields, List<PlayerProfile> profiles) throws SQLException {
+        List<ProfileField> columns = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("UPDATE player_profiles SET ");
+        for (ProfileField field : ProfileField.values()) {
+            if (!field.isSet(fields)) {
+                continue;
+            }
+            if (!columns.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(field.key()).append("=?");
+            columns.add(field);
+        }
+        if (blobColumn) {
+            sql.append(", profile_blob=?");
+        }
+        sql.append(" WHERE uuid = ?");
+
+        List<PlayerProfile> missing = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int offset = 0; offset < profiles.size(); offset += maxBatchSize) {
+                List<PlayerProfile> chunk = profiles.subList(offset, Math.min(profiles.size(), offset + maxBatchSize));
+                for (PlayerProfile profile : chunk) {
+                    int index = 1;
+                    for (ProfileField field : columns) {
+                        bindField(statement, index++, field, profile);
+                    }
+                    if (blobColumn) {
+                        bindBlob(statement, index++, profile);
+                    }
+                    statement.setString(index, profile.getUuid().toString());
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length && i < chunk.size(); i++) {
+                    if (counts[i] == 0) {
+                        missing.add(chunk.get(i));
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
     private PlayerProfile mapProfile(UUID uuid, ResultSet resultSet) throws SQLException {
+        if (profileBlob) {
+            byte[] blob = resultSet.getBytes("profile_blob");
+            if (blob != null) {
+                try {
+                    return ProfileBinaryCodec.decode(uuid, blob);
+                } catch (IllegalArgumentException ignored) {
+                    // corrupt blob: the columns are written in the same statement, use them instead
+                }
+            }
+        }
+        return mapColumns(uuid, resultSet);
+    }
+
+    static PlayerProfile mapColumns(UUID uuid, ResultSet resultSet) throws SQLException {
         PlayerProfile profile = new PlayerProfile(uuid);
         profile.setLevel(resultSet.getInt("level"));
         profile.setXp(resultSet.getDouble("xp"));
@@ -178,28 +558,60 @@ public class JdbcPlayerDataStore implements PlayerDataStore {
         ProfileSkillCodec.decode(resultSet.getString("hoe_skills"), profile);
         profile.setGuildId(resultSet.getString("guild_id"));
         profile.setLastGuildHarvestAt(resultSet.getLong("last_guild_harvest_at"));
+        profile.markClean();
         return profile;
     }
 
     private void bindProfile(PreparedStatement statement, PlayerProfile profile) throws SQLException {
         statement.setString(1, profile.getUuid().toString());
-        statement.setInt(2, profile.getLevel());
-        statement.setDouble(3, profile.getXp());
-        statement.setDouble(4, profile.getMastery());
-        statement.setDouble(5, profile.getEnergy());
-        statement.setLong(6, profile.getLastEnergyTick());
-        statement.setLong(7, profile.getLastHarvestAt());
-        statement.setLong(8, profile.getActionCooldownEnd());
-        statement.setString(9, profile.getLastBlockType());
-        statement.setInt(10, profile.getComboCount());
-        statement.setLong(11, profile.getComboExpireAt());
-        statement.setDouble(12, profile.getComboOverrideWindow());
-        statement.setLong(13, profile.getComboOverrideUntil());
-        statement.setFloat(14, profile.getLastYaw());
-        statement.setFloat(15, profile.getLastPitch());
-        statement.setDouble(16, profile.getLastTargetDistance());
-        statement.setString(17, ProfileSkillCodec.encode(profile.getHoeSkills()));
-        statement.setString(18, profile.getGuildId());
-        statement.setLong(19, profile.getLastGuildHarvestAt());
+        int index = 2;
+        for (ProfileField field : ProfileField.values()) {
+            bindField(statement, index++, field, profile);
+        }
+        if (blobColumn) {
+            bindBlob(statement, index, profile);
+        }
+    }
+
+    private void bindBlob(PreparedStatement statement, int index, PlayerProfile profile) throws SQLException {
+        if (profileBlob) {
+            statement.setBytes(index, ProfileBinaryCodec.encode(profile));
+        } else {
+            statement.setNull(index, Types.BLOB);
+        }
+    }
+
+    static void bindField(PreparedStatement statement, int index, ProfileField field, PlayerProfile profile) throws SQLException {
+        switch (field) {
+            case LEVEL -> statement.setInt(index, profile.getLevel());
+            case XP -> statement.setDouble(index, profile.getXp());
+            case MASTERY -> statement.setDouble(index, profile.getMastery());
+            case ENERGY -> statement.setDouble(index, profile.getEnergy());
+            case LAST_ENERGY_TICK -> statement.setLong(index, profile.getLastEnergyTick());
+            case LAST_HARVEST_AT -> statement.setLong(index, profile.getLastHarvestAt());
+            case ACTION_COOLDOWN_END -> statement.setLong(index, profile.getActionCooldownEnd());
+            case LAST_BLOCK_TYPE -> statement.setString(index, profile.getLastBlockType());
+            case COMBO_COUNT -> statement.setInt(index, profile.getComboCount());
+            case COMBO_EXPIRE_AT -> statement.setLong(index, profile.getComboExpireAt());
+            case COMBO_OVERRIDE_WINDOW -> statement.setDouble(index, profile.getComboOverrideWindow());
+            case COMBO_OVERRIDE_UNTIL -> statement.setLong(index, profile.getComboOverrideUntil());
+            case LAST_YAW -> statement.setFloat(index, profile.getLastYaw());
+            case LAST_PITCH -> statement.setFloat(index, profile.getLastPitch());
+            case LAST_TARGET_DISTANCE -> statement.setDouble(index, profile.getLastTargetDistance());
+            case HOE_SKILLS -> statement.setString(index, ProfileSkillCodec.encode(profile.getHoeSkills()));
+            case GUILD_ID -> statement.setString(index, profile.getGuildId());
+            case LAST_GUILD_HARVEST_AT -> statement.setLong(index, profile.getLastGuildHarvestAt());
+        }
+    }
+
+    private static final class PendingWrite {
+        private final long queuedAt;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private volatile PlayerProfile profile;
+
+        private PendingWrite(PlayerProfile profile, long queuedAt) {
+            this.profile = profile;
+            this.queuedAt = queuedAt;
+        }
     }
 }
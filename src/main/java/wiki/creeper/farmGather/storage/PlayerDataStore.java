@@ -1,14 +1,43 @@
 package wiki.creeper.farmGather.storage;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import wiki.creeper.farmGather.player.PlayerProfile;
 
 public interface PlayerDataStore {
     CompletableFuture<Optional<PlayerProfile>> loadProfile(UUID uuid);
 
+    /**
+     * Loads several profiles at once. The returned map only contains the profiles that exist.
+     */
+    default CompletableFuture<Map<UUID, PlayerProfile>> loadProfiles(Collection<UUID> uuids) {
+        Map<UUID, PlayerProfile> loaded = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] futures = uuids.stream()
+                .map(uuid -> loadProfile(uuid).thenAccept(optional -> optional.ifPresent(profile -> loaded.put(uuid, profile))))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).thenApply(ignored -> loaded);
+    }
+
     CompletableFuture<Void> saveProfile(PlayerProfile profile);
 
+    default CompletableFuture<Void> saveProfiles(Collection<PlayerProfile> profiles) {
+        CompletableFuture<?>[] futures = profiles.stream()
+                .map(this::saveProfile)
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    default int pendingWriteCount() {
+        return 0;
+    }
+
+    default long oldestPendingWriteAgeMillis() {
+        return 0L;
+    }
+
     CompletableFuture<Void> close();
 }
@@ -0,0 +1,333 @@
+package wiki.creeper.farmGather.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import wiki.creeper.farmGather.player.HoeSkill;
+import wiki.creeper.farmGather.player.HoeSkillType;
+import wiki.creeper.farmGather.player.PlayerProfile;
+import wiki.creeper.farmGather.player.ProfileField;
+
+/**
+ * Versioned binary encoding of {@link PlayerProfile}.
+ *
+ * <p>Layout: a magic byte, a format version, then one {@code (tag, value)} entry per field. A tag is
+ * {@code (field number << 3) | wire type}; the field number is {@link ProfileField#ordinal()} + 1, so
+ * new fields must only ever be appended to {@link ProfileField}. Decoders skip entries with an
+ * unknown field number by their wire type and leave absent fields at their defaults, which keeps
+ * older and newer plugin versions able to read each other's blobs.
+ */
+final class ProfileBinaryCodec {
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0xFA;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_BYTES = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    private static final ProfileField[] FIELDS = ProfileField.values();
+
+    private ProfileBinaryCodec() {
+    }
+
+    static byte[] encode(PlayerProfile profile) {
+        Writer out = new Writer();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        for (ProfileField field : FIELDS) {
+            encodeField(out, profile, field);
+        }
+        return out.toByteArray();
+    }
+
+    static PlayerProfile decode(UUID uuid, byte[] data) {
+        Reader in = new Reader(data);
+        if (in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a FarmGather profile blob");
+        }
+        int version = in.readByte();
+        if (version < 1) {
+            throw new IllegalArgumentException("Unsupported profile blob version " + version);
+        }
+
+        PlayerProfile profile = new PlayerProfile(uuid);
+        double overrideWindow = 0.0;
+        long overrideUntil = 0L;
+        while (in.hasRemaining()) {
+            long tag = in.readVarLong();
+            int wireType = (int) (tag & 0x7);
+            long number = tag >>> 3;
+            if (number < 1 || number > FIELDS.length) {
+                in.skip(wireType);
+                continue;
+            }
+            ProfileField field = FIELDS[(int) number - 1];
+            if (wireType != wireTypeOf(field)) {
+                in.skip(wireType);
+                continue;
+            }
+            switch (field) {
+                case LEVEL -> profile.setLevel(in.readSignedInt());
+                case XP -> profile.setXp(in.readDouble());
+                case MASTERY -> profile.setMastery(in.readDouble());
+                case ENERGY -> profile.setEnergy(in.readDouble());
+                case LAST_ENERGY_TICK -> profile.setLastEnergyTick(in.readSignedLong());
+                case LAST_HARVEST_AT -> profile.setLastHarvestAt(in.readSignedLong());
+                case ACTION_COOLDOWN_END -> profile.setActionCooldownEnd(in.readSignedLong());
+                case LAST_BLOCK_TYPE -> profile.setLastBlockType(in.readString());
+                case COMBO_COUNT -> profile.setComboCount(in.readSignedInt());
+                case COMBO_EXPIRE_AT -> profile.setComboExpireAt(in.readSignedLong());
+                case COMBO_OVERRIDE_WINDOW -> overrideWindow = in.readDouble();
+                case COMBO_OVERRIDE_UNTIL -> overrideUntil = in.readSignedLong();
+                case LAST_YAW -> profile.setLastYaw(in.readFloat());
+                case LAST_PITCH -> profile.setLastPitch(in.readFloat());
+                case LAST_TARGET_DISTANCE -> profile.setLastTargetDistance(in.readDouble());
+                case HOE_SKILLS -> decodeSkills(in.readBytes(), profile);
+                case GUILD_ID -> profile.setGuildId(in.readString());
+                case LAST_GUILD_HARVEST_AT -> profile.setLastGuildHarvestAt(in.readSignedLong());
+            }
+        }
+        if (overrideWindow > 0 && overrideUntil > 0) {
+            profile.setComboOverride(overrideWindow, overrideUntil);
+        } else {
+            profile.clearComboOverride();
+        }
+        profile.markClean();
+        return profile;
+    }
+
+    private static void encodeField(Writer out, PlayerProfile profile, ProfileField field) {
+        switch (field) {
+            case LEVEL -> out.writeSignedField(field, profile.getLevel());
+            case XP -> out.writeDoubleField(field, profile.getXp());
+            case MASTERY -> out.writeDoubleField(field, profile.getMastery());
+            case ENERGY -> out.writeDoubleField(field, profile.getEnergy());
+            case LAST_ENERGY_TICK -> out.writeSignedField(field, profile.getLastEnergyTick());
+            case LAST_HARVEST_AT -> out.writeSignedField(field, profile.getLastHarvestAt());
+            case ACTION_COOLDOWN_END -> out.writeSignedField(field, profile.getActionCooldownEnd());
+            case LAST_BLOCK_TYPE -> out.writeStringField(field, profile.getLastBlockType());
+            case COMBO_COUNT -> out.writeSignedField(field, profile.getComboCount());
+            case COMBO_EXPIRE_AT -> out.writeSignedField(field, profile.getComboExpireAt());
+            case COMBO_OVERRIDE_WINDOW -> out.writeDoubleField(field, profile.getComboOverrideWindow());
+            case COMBO_OVERRIDE_UNTIL -> out.writeSignedField(field, profile.getComboOverrideUntil());
+            case LAST_YAW -> out.writeFloatField(field, profile.getLastYaw());
+            case LAST_PITCH -> out.writeFloatField(field, profile.getLastPitch());
+            case LAST_TARGET_DISTANCE -> out.writeDoubleField(field, profile.getLastTargetDistance());
+            case HOE_SKILLS -> out.writeBytesField(field, encodeSkills(profile));
+            case GUILD_ID -> out.writeStringField(field, profile.getGuildId());
+            case LAST_GUILD_HARVEST_AT -> out.writeSignedField(field, profile.getLastGuildHarvestAt());
+        }
+    }
+
+    private static int wireTypeOf(ProfileField field) {
+        return switch (field) {
+            case XP, MASTERY, ENERGY, COMBO_OVERRIDE_WINDOW, LAST_TARGET_DISTANCE -> WIRE_FIXED64;
+            case LAST_YAW, LAST_PITCH -> WIRE_FIXED32;
+            case LAST_BLOCK_TYPE, GUILD_ID, HOE_SKILLS -> WIRE_BYTES;
+            default -> WIRE_VARINT;
+        };
+    }
+
+    // Skills are stored by name so reordering HoeSkillType does not corrupt existing blobs.
+    private static byte[] encodeSkills(PlayerProfile profile) {
+        Writer out = new Writer();
+        for (HoeSkill skill : profile.getHoeSkills().values()) {
+            if (skill.getLevel() <= 0) {
+                continue;
+            }
+            out.writeLengthPrefixed(skill.getType().name().getBytes(StandardCharsets.UTF_8));
+            out.writeVarLong(skill.getLevel());
+        }
+        return out.toByteArray();
+    }
+
+    private static void decodeSkills(byte[] data, PlayerProfile profile) {
+        profile.clearHoeSkills();
+        Reader in = new Reader(data);
+        while (in.hasRemaining()) {
+            String name = in.readString();
+            long level = in.readVarLong();
+            if (level <= 0 || level > Integer.MAX_VALUE) {
+                continue;
+            }
+            try {
+                profile.setSkill(new HoeSkill(HoeSkillType.fromKey(name), (int) level));
+            } catch (IllegalArgumentException ignored) {
+                // skill removed in this version
+            }
+        }
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+        private Writer() {
+            super(128);
+        }
+
+        void writeByte(int value) {
+            write(value);
+        }
+
+        void writeSignedField(ProfileField field, long value) {
+            writeTag(field, WIRE_VARINT);
+            writeSignedLong(value);
+        }
+
+        void writeDoubleField(ProfileField field, double value) {
+            writeTag(field, WIRE_FIXED64);
+            writeFixed64(Double.doubleToRawLongBits(value));
+        }
+
+        void writeFloatField(ProfileField field, float value) {
+            writeTag(field, WIRE_FIXED32);
+            writeFixed32(Float.floatToRawIntBits(value));
+        }
+
+        void writeStringField(ProfileField field, String value) {
+            if (value != null) {
+                writeBytesField(field, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void writeBytesField(ProfileField field, byte[] value) {
+            if (value.length > 0) {
+                writeTag(field, WIRE_BYTES);
+                writeLengthPrefixed(value);
+            }
+        }
+
+        private void writeTag(ProfileField field, int wireType) {
+            writeVarLong(((long) (field.ordinal() + 1) << 3) | wireType);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSignedLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixed32(int value) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                write((value >>> shift) & 0xFF);
+            }
+        }
+
+        void writeFixed64(long value) {
+            for (int shift = 0; shift < 64; shift += 8) {
+                write((int) ((value >>> shift) & 0xFF));
+            }
+        }
+
+        void writeLengthPrefixed(byte[] value) {
+            writeVarLong(value.length);
+            write(value, 0, value.length);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasRemaining() {
+            return position < data.length;
+        }
+
+        int readByte() {
+            require(1);
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long result = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in profile blob");
+        }
+
+        long readSignedLong() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        int readSignedInt() {
+            long value = readSignedLong();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Integer field out of range in profile blob");
+            }
+            return (int) value;
+        }
+
+        int readFixed32() {
+            require(4);
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 8) {
+                value |= (data[position++] & 0xFF) << shift;
+            }
+            return value;
+        }
+
+        long readFixed64() {
+            require(8);
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 8) {
+                value |= (long) (data[position++] & 0xFF) << shift;
+            }
+            return value;
+        }
+
+        float readFloat() {
+            return Float.intBitsToFloat(readFixed32());
+        }
+
+        double readDouble() {
+            return Double.longBitsToDouble(readFixed64());
+        }
+
+        byte[] readBytes() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Truncated profile blob");
+            }
+            byte[] value = new byte[(int) length];
+            System.arraycopy(data, position, value, 0, value.length);
+            position += value.length;
+            return value;
+        }
+
+        String readString() {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        void skip(int wireType) {
+            switch (wireType) {
+                case WIRE_VARINT -> readVarLong();
+                case WIRE_FIXED64 -> readFixed64();
+                case WIRE_FIXED32 -> readFixed32();
+                case WIRE_BYTES -> readBytes();
+                default -> throw new IllegalArgumentException("Unknown wire type " + wireType + " in profile blob");
+            }
+        }
+
+        private void require(int bytes) {
+            if (data.length - position < bytes) {
+                throw new IllegalArgumentException("Truncated profile blob");
+            }
+        }
+    }
+}
@@ -1,65 +1,346 @@
 package wiki.creeper.farmGather.storage;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import wiki.creeper.farmGather.player.PlayerProfile;
+import wiki.creeper.farmGather.player.ProfileField;
 
 public class RedisPlayerDataStore implements PlayerDataStore {
+    public enum Format {
+        HASH,
+        BINARY
+    }
+
     private static final String KEY_PREFIX = "farmgather:profile:";
+    private static final String BINARY_KEY_PREFIX = "farmgather:profile-bin:";
+    // Full writes always apply; partial writes only touch an existing hash so an evicted
+    // profile never comes back as a fragment without the "uuid" marker. A refused partial
+    // write returns 0 and writeAll resends it as a full write. An applied write
+    // also drops the binary copy (KEYS[2]) so a later switch to BINARY cannot load it.
+    private static final String WRITE_SCRIPT = """
+            if ARGV[1] == '0' and redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local count = tonumber(ARGV[2])
+            local last = 2 + count * 2
+            if count > 0 then
+                redis.call('HSET', KEYS[1], unpack(ARGV, 3, last))
+            end
+            if #ARGV > last then
+                redis.call('HDEL', KEYS[1], unpack(ARGV, last + 1, #ARGV))
+            end
+            redis.call('UNLINK', KEYS[2])
+            return 1
+            """;
 
     private final JedisPool pool;
-    private final ExecutorService executor;
+    private final Format format;
+    private final StorageExecutor executor;
+    private final Logger logger;
 
     public RedisPlayerDataStore(JedisPool pool) {
-        this.pool = pool;
-        this.executor = Executors.newFixedThreadPool(2, createThreadFactory());
+        this(pool, Format.HASH);
     }
 
-    private ThreadFactory createThreadFactory() {
-        return runnable -> {
-            Thread thread = new Thread(runnable, "FarmGather-Redis");
-            thread.setDaemon(true);
-            return thread;
-        };
+    public RedisPlayerDataStore(JedisPool pool, Format format) {
+        this(pool, format, StorageExecutor.platform("FarmGather-Redis", 2));
+    }
+
+    public RedisPlayerDataStore(JedisPool pool, Format format, StorageExecutor executor) {
+        this(pool, format, executor, Logger.getLogger(RedisPlayerDataStore.class.getName()));
+    }
+
+    public RedisPlayerDataStore(JedisPool pool, Format format, StorageExecutor executor, Logger logger) {
+        this.pool = pool;
+        this.format = format == null ? Format.HASH : format;
+        this.executor = executor;
+        this.logger = logger;
     }
 
     @Override
     public CompletableFuture<Optional<PlayerProfile>> loadProfile(UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
             try (Jedis jedis = pool.getResource()) {
+                if (format == Format.BINARY) {
+                    PlayerProfile profile = decodeBlob(uuid, jedis.get(binaryKey(uuid)));
+                    if (profile != null) {
+                        return Optional.of(profile);
+                    }
+                    // fall through to a hash written before the format was switched, or next to a corrupt blob
+                }
                 Map<String, String> data = jedis.hgetAll(key(uuid));
-                if (data == null || data.isEmpty()) {
-                    return Optional.empty();
+                if (data != null && data.containsKey("uuid")) {
+                    PlayerProfile profile = new PlayerProfile(uuid);
+                    applyProfile(profile, data);
+                    return Optional.of(profile);
+                }
+                // partial hashes (e.g. after eviction) are treated as a miss
+                if (format == Format.HASH) {
+                    PlayerProfile profile = decodeBlob(uuid, jedis.get(binaryKey(uuid)));
+                    if (profile != null) {
+                        return Optional.of(migrateToHash(jedis, profile));
+                    }
+                }
+                return Optional.empty();
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, PlayerProfile>> loadProfiles(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        List<UUID> snapshot = List.copyOf(uuids);
+        return executor.supply(() -> {
+            Map<UUID, PlayerProfile> loaded = new HashMap<>();
+            try (Jedis jedis = pool.getResource()) {
+                List<UUID> misses = snapshot;
+                if (format == Format.BINARY) {
+                    Pipeline pipeline = jedis.pipelined();
+                    List<Response<byte[]>> blobs = new ArrayList<>(snapshot.size());
+                    for (UUID uuid : snapshot) {
+                        blobs.add(pipeline.get(binaryKey(uuid)));
+                    }
+                    pipeline.sync();
+                    misses = new ArrayList<>();
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        PlayerProfile profile = decodeBlob(snapshot.get(i), blobs.get(i).get());
+                        if (profile != null) {
+                            loaded.put(snapshot.get(i), profile);
+                        } else {
+                            misses.add(snapshot.get(i));
+                        }
+                    }
+                }
+                if (!misses.isEmpty()) {
+                    Pipeline pipeline = jedis.pipelined();
+                    List<Response<Map<String, String>>> hashes = new ArrayList<>(misses.size());
+                    for (UUID uuid : misses) {
+                        hashes.add(pipeline.hgetAll(key(uuid)));
+                    }
+                    pipeline.sync();
+                    List<UUID> hashMisses = new ArrayList<>();
+                    for (int i = 0; i < misses.size(); i++) {
+                        Map<String, String> data = hashes.get(i).get();
+                        if (data != null && data.containsKey("uuid")) {
+                            PlayerProfile profile = new PlayerProfile(misses.get(i));
+                            applyProfile(profile, data);
+                            loaded.put(misses.get(i), profile);
+                        } else {
+                            hashMisses.add(misses.get(i));
+                        }
+                    }
+                    if (format == Format.HASH && !hashMisses.isEmpty()) {
+                        // profiles written while the store was in BINARY mode
+                        Pipeline blobPipeline = jedis.pipelined();
+                        List<Response<byte[]>> blobs = new ArrayList<>(hashMisses.size());
+                        for (UUID uuid : hashMisses) {
+                            blobs.add(blobPipeline.get(binaryKey(uuid)));
+                        }
+                        blobPipeline.sync();
+                        for (int i = 0; i < hashMisses.size(); i++) {
+                            UUID uuid = hashMisses.get(i);
+                            PlayerProfile profile = decodeBlob(uuid, blobs.get(i).get());
+                            if (profile != null) {
+                                loaded.put(uuid, migrateToHash(jedis, profile));
+                            }
+                        }
+                    }
                 }
-                PlayerProfile profile = new PlayerProfile(uuid);
-                applyProfile(profile, data);
-                return Optional.of(profile);
             } catch (Exception ex) {
                 throw new CompletionException(ex);
             }
-        }, executor);
+            return loaded;
+        });
     }
 
     @Override
     public CompletableFuture<Void> saveProfile(PlayerProfile profile) {
-        return CompletableFuture.runAsync(() -> {
+        return saveFields(profile, profile.getDirtyFields());
+    }
+
+    public CompletableFuture<Void> cacheProfile(PlayerProfile profile) {
+        return saveFields(profile, ProfileField.ALL_MASK);
+    }
+
+    public CompletableFuture<Void> cacheProfiles(Collection<PlayerProfile> profiles) {
+        List<ProfileWrite> writes = new ArrayList<>(profiles.size());
+        for (PlayerProfile profile : profiles) {
+            writes.add(new ProfileWrite(profile, ProfileField.ALL_MASK));
+        }
+        return writeAll(writes);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveProfiles(Collection<PlayerProfile> profiles) {
+        List<ProfileWrite> writes = new ArrayList<>(profiles.size());
+        for (PlayerProfile profile : profiles) {
+            long fields = profile.getDirtyFields();
+            if (fields != 0L) {
+                writes.add(new ProfileWrite(profile, fields));
+            }
+        }
+        return writeAll(writes);
+    }
+
+    /**
+     * Removes the cached copies of the given profiles in both formats.
+     */
+    public CompletableFuture<Void> evict(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<UUID> snapshot = List.copyOf(uuids);
+        return executor.run(() -> {
             try (Jedis jedis = pool.getResource()) {
-                Map<String, String> payload = serializeProfile(profile);
-                jedis.del(key(profile.getUuid()));
-                jedis.hset(key(profile.getUuid()), payload);
+                Pipeline pipeline = jedis.pipelined();
+                for (UUID uuid : snapshot) {
+                    pipeline.unlink(key(uuid));
+                    pipeline.unlink(binaryKey(uuid));
+                }
+                pipeline.sync();
             } catch (Exception ex) {
                 throw new CompletionException(ex);
             }
-        }, executor);
+        });
+    }
+
+    private CompletableFuture<Void> saveFields(PlayerProfile profile, long fields) {
+        if (fields == 0L) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return writeAll(List.of(new ProfileWrite(profile, fields)));
+    }
+
+    private CompletableFuture<Void> writeAll(List<ProfileWrite> writes) {
+        if (writes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return executor.run(() -> {
+            try (Jedis jedis = pool.getResource()) {
+                Pipeline pipeline = jedis.pipelined();
+                List<Response<?>> responses = new ArrayList<>(writes.size());
+                List<ProfileWrite> scripted = new ArrayList<>(writes.size());
+                List<Response<Object>> scriptResults = new ArrayList<>(writes.size());
+                for (ProfileWrite write : writes) {
+                    PlayerProfile profile = write.profile();
+                    if (format == Format.BINARY) {
+                        // the blob always carries the whole profile, so the dirty mask only gates the write
+                        responses.add(pipeline.set(binaryKey(profile.getUuid()), ProfileBinaryCodec.encode(profile)));
+                        responses.add(pipeline.unlink(key(profile.getUuid())));
+                    } else {
+                        scripted.add(write);
+                        scriptResults.add(pipeline.eval(WRITE_SCRIPT,
+                                List.of(key(profile.getUuid()), binaryKeyName(profile.getUuid())),
+                                scriptArgs(profile, write.fields())));
+                    }
+                }
+                pipeline.sync();
+                for (Response<?> response : responses) {
+                    response.get();
+                }
+                List<Object> results = new ArrayList<>(scriptResults.size());
+                for (Response<Object> response : scriptResults) {
+                    results.add(response.get());
+                }
+                List<ProfileWrite> rewrites = rejectedPartialWrites(scripted, results);
+                if (!rewrites.isEmpty()) {
+                    Pipeline retry = jedis.pipelined();
+                    List<Response<Object>> retried = new ArrayList<>(rewrites.size());
+                    for (ProfileWrite write : rewrites) {
+                        UUID uuid = write.profile().getUuid();
+                        retried.add(retry.eval(WRITE_SCRIPT, List.of(key(uuid), binaryKeyName(uuid)),
+                                scriptArgs(write.profile(), write.fields())));
+                    }
+                    retry.sync();
+                    for (Response<Object> response : retried) {
+                        response.get();
+                    }
+                }
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+
+    /**
+     * Partial writes the script refused because the hash was gone (evicted or expired), turned into
+     * full writes. Dropping them would report success for changes that were never stored, and the
+     * caller would then clear the profile's dirty fields.
+     */
+    static List<ProfileWrite> rejectedPartialWrites(List<ProfileWrite> writes, List<Object> results) {
+        List<ProfileWrite> rewrites = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            ProfileWrite write = writes.get(i);
+            if (write.fields() != ProfileField.ALL_MASK && Long.valueOf(0L).equals(results.get(i))) {
+                rewrites.add(new ProfileWrite(write.profile(), ProfileField.ALL_MASK));
+            }
+        }
+        return rewrites;
+    }
+
+    /**
+     * Decodes a binary profile, or returns {@code null} if there is none or it is corrupt. A corrupt
+     * blob is treated like a missing one, so the caller falls back to the hash (or to a new profile)
+     * instead of failing the whole load; the next full write replaces it.
+     */
+    private PlayerProfile decodeBlob(UUID uuid, byte[] blob) {
+        if (blob == null) {
+            return null;
+        }
+        try {
+            return ProfileBinaryCodec.decode(uuid, blob);
+        } catch (IllegalArgumentException ex) {
+            logger.log(Level.WARNING, "Ignoring corrupt Redis profile blob for " + uuid, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Rewrites a profile found only as a binary blob into the hash format and drops the blob, so
+     * that later partial writes have a hash to update.
+     */
+    private PlayerProfile migrateToHash(Jedis jedis, PlayerProfile profile) {
+        jedis.eval(WRITE_SCRIPT,
+                List.of(key(profile.getUuid()), binaryKeyName(profile.getUuid())),
+                scriptArgs(profile, ProfileField.ALL_MASK));
+        return profile;
+    }
+
+    /**
+     * ARGV layout for {@link #WRITE_SCRIPT}: full-write flag, number of field/value pairs, the pairs,
+     * then the fields to remove.
+     */
+    static List<String> scriptArgs(PlayerProfile profile, long fields) {
+        Map<String, String> payload = serializeProfile(profile, fields);
+        List<String> cleared = clearedFields(profile, fields);
+        List<String> args = new ArrayList<>(2 + payload.size() * 2 + cleared.size());
+        args.add(fields == ProfileField.ALL_MASK ? "1" : "0");
+        args.add(Integer.toString(payload.size()));
+        payload.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        args.addAll(cleared);
+        return args;
     }
 
     @Override
@@ -73,38 +354,65 @@ public class RedisPlayerDataStore implements PlayerDataStore {
         return KEY_PREFIX + uuid;
     }
 
-    private Map<String, String> serializeProfile(PlayerProfile profile) {
-        Map<String, String> map = new HashMap<>();
-        map.put("uuid", profile.getUuid().toString());
-        map.put("level", String.valueOf(profile.getLevel()));
-        map.put("xp", String.valueOf(profile.getXp()));
-        map.put("mastery", String.valueOf(profile.getMastery()));
-        map.put("energy", String.valueOf(profile.getEnergy()));
-        map.put("last_energy_tick", String.valueOf(profile.getLastEnergyTick()));
-        map.put("last_harvest_at", String.valueOf(profile.getLastHarvestAt()));
-        map.put("action_cooldown_end", String.valueOf(profile.getActionCooldownEnd()));
-        if (profile.getLastBlockType() != null) {
-            map.put("last_block_type", profile.getLastBlockType());
-        }
-        map.put("combo_count", String.valueOf(profile.getComboCount()));
-        map.put("combo_expire_at", String.valueOf(profile.getComboExpireAt()));
-        map.put("combo_override_window", String.valueOf(profile.getComboOverrideWindow()));
-        map.put("combo_override_until", String.valueOf(profile.getComboOverrideUntil()));
-        map.put("last_yaw", String.valueOf(profile.getLastYaw()));
-        map.put("last_pitch", String.valueOf(profile.getLastPitch()));
-        map.put("last_target_distance", String.valueOf(profile.getLastTargetDistance()));
-        String encodedSkills = ProfileSkillCodec.encode(profile.getHoeSkills());
-        if (encodedSkills != null) {
-            map.put("hoe_skills", encodedSkills);
-        }
-        if (profile.getGuildId() != null) {
-            map.put("guild_id", profile.getGuildId());
-        }
-        map.put("last_guild_harvest_at", String.valueOf(profile.getLastGuildHarvestAt()));
+    private String binaryKeyName(UUID uuid) {
+        return BINARY_KEY_PREFIX + uuid;
+    }
+
+    private byte[] binaryKey(UUID uuid) {
+        return binaryKeyName(uuid).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Map<String, String> serializeProfile(PlayerProfile profile, long fields) {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (fields == ProfileField.ALL_MASK) {
+            map.put("uuid", profile.getUuid().toString());
+        }
+        for (ProfileField field : ProfileField.values()) {
+            if (!field.isSet(fields)) {
+                continue;
+            }
+            String value = serializeField(profile, field);
+            if (value != null) {
+                map.put(field.key(), value);
+            }
+        }
         return map;
     }
 
-    private void applyProfile(PlayerProfile profile, Map<String, String> data) {
+    private static List<String> clearedFields(PlayerProfile profile, long fields) {
+        List<String> cleared = new ArrayList<>();
+        for (ProfileField field : ProfileField.values()) {
+            if (field.isSet(fields) && serializeField(profile, field) == null) {
+                cleared.add(field.key());
+            }
+        }
+        return cleared;
+    }
+
+    private static String serializeField(PlayerProfile profile, ProfileField field) {
+        return switch (field) {
+            case LEVEL -> String.valueOf(profile.getLevel());
+            case XP -> String.valueOf(profile.getXp());
+            case MASTERY -> String.valueOf(profile.getMastery());
+            case ENERGY -> String.valueOf(profile.getEnergy());
+            case LAST_ENERGY_TICK -> String.valueOf(profile.getLastEnergyTick());
+            case LAST_HARVEST_AT -> String.valueOf(profile.getLastHarvestAt());
+            case ACTION_COOLDOWN_END -> String.valueOf(profile.getActionCooldownEnd());
+            case LAST_BLOCK_TYPE -> profile.getLastBlockType();
+            case COMBO_COUNT -> String.valueOf(profile.getComboCount());
+            case COMBO_EXPIRE_AT -> String.valueOf(profile.getComboExpireAt());
+            case COMBO_OVERRIDE_WINDOW -> String.valueOf(profile.getComboOverrideWindow());
+            case COMBO_OVERRIDE_UNTIL -> String.valueOf(profile.getComboOverrideUntil());
+            case LAST_YAW -> String.valueOf(profile.getLastYaw());
+            case LAST_PITCH -> String.valueOf(profile.getLastPitch());
+            case LAST_TARGET_DISTANCE -> String.valueOf(profile.getLastTargetDistance());
+            case HOE_SKILLS -> ProfileSkillCodec.encode(profile.getHoeSkills());
+            case GUILD_ID -> profile.getGuildId();
+            case LAST_GUILD_HARVEST_AT -> String.valueOf(profile.getLastGuildHarvestAt());
+        };
+    }
+
+    static void applyProfile(PlayerProfile profile, Map<String, String> data) {
         profile.setLevel(parseInt(data.get("level"), profile.getLevel()));
         profile.setXp(parseDouble(data.get("xp"), profile.getXp()));
         profile.setMastery(parseDouble(data.get("mastery"), profile.getMastery()));
@@ -128,9 +436,10 @@ public class RedisPlayerDataStore implements PlayerDataStore {
         ProfileSkillCodec.decode(data.get("hoe_skills"), profile);
         profile.setGuildId(data.get("guild_id"));
         profile.setLastGuildHarvestAt(parseLong(data.get("last_guild_harvest_at"), profile.getLastGuildHarvestAt()));
+        profile.markClean();
     }
 
-    private int parseInt(String value, int fallback) {
+    private static int parseInt(String value, int fallback) {
         if (value == null) {
             return fallback;
         }
@@ -141,7 +450,7 @@ public class RedisPlayerDataStore implements PlayerDataStore {
         }
     }
 
-    private long parseLong(String value, long fallback) {
+    private static long parseLong(String value, long fallback) {
         if (value == null) {
             return fallback;
         }
@@ -152,7 +461,7 @@ public class RedisPlayerDataStore implements PlayerDataStore {
         }
     }
 
-    private double parseDouble(String value, double fallback) {
+    private static double parseDouble(String value, double fallback) {
         if (value == null) {
             return fallback;
         }
@@ -162,4 +471,7 @@ public class RedisPlayerDataStore implements PlayerDataStore {
             return fallback;
         }
     }
+
+    record ProfileWrite(PlayerProfile profile, long fields) {
+    }
 }
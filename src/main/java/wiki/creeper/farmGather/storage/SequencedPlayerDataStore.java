@@ -0,0 +1,196 @@
+package wiki.creeper.farmGather.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import wiki.creeper.farmGather.player.PlayerProfile;
+
+/**
+ * Orders every load and save for the same player behind the previous one, while different players
+ * proceed in parallel. An operation only starts once the delegate's future for the previous operation
+ * on that UUID has completed, so a fast rejoin can never read a row that an earlier quit is still
+ * writing. A save queued behind another operation absorbs later saves for the same player; only the
+ * most recent profile snapshot is written when it starts.
+ *
+ * <p>This is the only layer that orders operations per player; {@link StorageExecutor} does not. No
+ * caller ever blocks: operations are registered through a lock-free queue that whichever caller
+ * finds it idle drains, so every registration, including one spanning several players, is applied to
+ * the per-player tails as a whole and in submission order.
+ */
+public class SequencedPlayerDataStore implements PlayerDataStore {
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final PlayerDataStore delegate;
+    private final Map<UUID, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+    private final Map<UUID, QueuedSave> queuedSaves = new ConcurrentHashMap<>();
+    private final Queue<Runnable> registrations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger registrationsPending = new AtomicInteger();
+    private final AtomicInteger outstandingWrites = new AtomicInteger();
+
+    public SequencedPlayerDataStore(PlayerDataStore delegate) {
+        this.delegate = delegate;
+    }
+
+    public PlayerDataStore delegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerProfile>> loadProfile(UUID uuid) {
+        return enqueue(Set.of(uuid), new CompletableFuture<>(), () -> delegate.loadProfile(uuid));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, PlayerProfile>> loadProfiles(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        Set<UUID> keys = new LinkedHashSet<>(uuids);
+        return enqueue(keys, new CompletableFuture<>(), () -> delegate.loadProfiles(keys));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveProfile(PlayerProfile profile) {
+        UUID uuid = profile.getUuid();
+        QueuedSave fresh = new QueuedSave(profile);
+        QueuedSave queued = queuedSaves.compute(uuid, (key, existing) ->
+                existing != null && existing.replace(profile) ? existing : fresh);
+        if (queued != fresh) {
+            return queued.future;
+        }
+        return countWrites(1, enqueue(Set.of(uuid), fresh.future, () -> {
+            queuedSaves.remove(uuid, fresh);
+            return delegate.saveProfile(fresh.start());
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveProfiles(Collection<PlayerProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return DONE;
+        }
+        List<PlayerProfile> snapshot = List.copyOf(profiles);
+        Set<UUID> keys = new LinkedHashSet<>();
+        snapshot.forEach(profile -> keys.add(profile.getUuid()));
+        return countWrites(snapshot.size(), enqueue(keys, new CompletableFuture<>(), () -> delegate.saveProfiles(snapshot)));
+    }
+
+    /**
+     * Profile writes accepted but not yet completed, whether still queued here, running, or buffered
+     * by a write-behind delegate. Coalesced saves count once. This is the whole count; the delegate's
+     * own count is not added, since every write it holds already counts here.
+     */
+    @Override
+    public int pendingWriteCount() {
+        return outstandingWrites.get();
+    }
+
+    @Override
+    public long oldestPendingWriteAgeMillis() {
+        return delegate.oldestPendingWriteAgeMillis();
+    }
+
+    @Override
+    public CompletableFuture<Void> close() {
+        CompletableFuture<?>[] inFlight = tails.values().stream()
+                .map(tail -> tail.handle((ignored, throwable) -> null))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(inFlight).thenCompose(ignored -> delegate.close());
+    }
+
+    private CompletableFuture<Void> countWrites(int writes, CompletableFuture<Void> future) {
+        outstandingWrites.addAndGet(writes);
+        future.whenComplete((ignored, throwable) -> outstandingWrites.addAndGet(-writes));
+        return future;
+    }
+
+    private <T> CompletableFuture<T> enqueue(Set<UUID> uuids,
+                                             CompletableFuture<T> result,
+                                             Supplier<CompletableFuture<T>> operation) {
+        register(() -> {
+            List<CompletableFuture<?>> previous = new ArrayList<>(uuids.size());
+            for (UUID uuid : uuids) {
+                CompletableFuture<?> tail = tails.put(uuid, result);
+                if (tail != null) {
+                    previous.add(tail);
+                }
+            }
+            CompletableFuture<?> ready = switch (previous.size()) {
+                case 0 -> DONE;
+                case 1 -> previous.get(0);
+                default -> CompletableFuture.allOf(previous.stream()
+                        .map(tail -> tail.handle((ignored, throwable) -> null))
+                        .toArray(CompletableFuture[]::new));
+            };
+            ready.whenComplete((ignored, throwable) -> start(operation, result));
+        });
+        result.whenComplete((ignored, throwable) -> uuids.forEach(uuid -> tails.remove(uuid, result)));
+        return result;
+    }
+
+    // Registrations touching several players must not interleave, or two of them could each end up
+    // waiting on the other. The caller that moves the counter off zero drains everything queued meanwhile.
+    private void register(Runnable registration) {
+        registrations.add(registration);
+        if (registrationsPending.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            registrations.poll().run();
+        } while (registrationsPending.decrementAndGet() != 0);
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> operation, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (Throwable throwable) {
+            result.completeExceptionally(throwable);
+            return;
+        }
+        future.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private static final class QueuedSave {
+        private final AtomicReference<PlayerProfile> profile;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private QueuedSave(PlayerProfile profile) {
+            this.profile = new AtomicReference<>(profile);
+        }
+
+        // Fails once the save has started, so the caller queues a new one behind it.
+        boolean replace(PlayerProfile newer) {
+            PlayerProfile current;
+            do {
+                current = profile.get();
+                if (current == null) {
+                    return false;
+                }
+            } while (!profile.compareAndSet(current, newer));
+            return true;
+        }
+
+        PlayerProfile start() {
+            return profile.getAndSet(null);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package wiki.creeper.farmGather.storage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking storage I/O for a data store.
+ *
+ * <p>{@link Mode#PLATFORM} keeps a fixed pool of daemon threads. {@link Mode#VIRTUAL} starts a virtual
+ * thread per operation and bounds how many run at once with a semaphore sized to the backing
+ * connection pool. Operations are not ordered against each other; per-player ordering is owned by
+ * {@link SequencedPlayerDataStore}, which every store is wrapped in.
+ */
+public final class StorageExecutor {
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    private final Mode mode;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    private StorageExecutor(Mode mode, ExecutorService executor, Semaphore permits) {
+        this.mode = mode;
+        this.executor = executor;
+        this.permits = permits;
+    }
+
+    public static StorageExecutor platform(String threadName, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new StorageExecutor(Mode.PLATFORM, executor, null);
+    }
+
+    public static StorageExecutor virtual(String threadName, int maxConcurrency) {
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadName + "-", 0).factory());
+        return new StorageExecutor(Mode.VIRTUAL, executor, new Semaphore(Math.max(1, maxConcurrency)));
+    }
+
+    public static StorageExecutor create(Mode mode, String threadName, int platformThreads, int maxConcurrency) {
+        return mode == Mode.VIRTUAL ? virtual(threadName, maxConcurrency) : platform(threadName, platformThreads);
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> guarded(task), executor);
+    }
+
+    /**
+     * Stops accepting work and waits up to {@code timeoutMillis} for running operations.
+     */
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    private <T> T guarded(Supplier<T> task) {
+        if (permits == null) {
+            return task.get();
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ex);
+        }
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
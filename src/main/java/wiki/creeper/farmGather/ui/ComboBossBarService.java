@@ -7,38 +7,35 @@ import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.config.PluginConfig;
 import wiki.creeper.farmGather.player.PlayerProfile;
 import wiki.creeper.farmGather.progression.ProgressionService;
-import wiki.creeper.farmGather.util.Text;
+import wiki.creeper.farmGather.scheduler.DeadlineScheduler;
+import wiki.creeper.farmGather.util.TextTemplate;
 
 public class ComboBossBarService {
+    private static final String UPDATE_CHANNEL = "combo-bossbar";
+    private static final long PROGRESS_INTERVAL_TICKS = 5L;
+
     private final FarmGather plugin;
     private final ProgressionService progressionService;
+    private final DeadlineScheduler deadlines;
     private final Map<UUID, BossBarEntry> entries = new ConcurrentHashMap<>();
 
     private PluginConfig.UiConfig uiConfig;
     private double actionCooldownSec;
-    private BukkitTask task;
+    private TextTemplate titleTemplate = TextTemplate.compile("");
 
-    public ComboBossBarService(FarmGather plugin, ProgressionService progressionService) {
+    public ComboBossBarService(FarmGather plugin, ProgressionService progressionService, DeadlineScheduler deadlines) {
         this.plugin = plugin;
         this.progressionService = progressionService;
-    }
-
-    public void start() {
-        stop();
-        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 5L, 5L);
+        this.deadlines = deadlines;
     }
 
     public void stop() {
-        if (task != null) {
-            task.cancel();
-            task = null;
-        }
+        deadlines.cancelChannel(UPDATE_CHANNEL);
         entries.values().forEach(entry -> {
             Player player = Bukkit.getPlayer(entry.playerId());
             if (player != null) {
@@ -50,8 +47,13 @@ public class ComboBossBarService {
 
     public void reload(@NotNull PluginConfig config) {
         this.uiConfig = config.ui();
+        if (uiConfig != null && uiConfig.bossbar() != null) {
+            this.titleTemplate = TextTemplate.compile(uiConfig.bossbar().titleFormat(),
+                    "combo", "bonus", "gain", "level", "cur", "next");
+        }
         this.actionCooldownSec = Math.max(0.0, config.harvest().actionCooldownSec());
         if (uiConfig == null || !uiConfig.bossbar().enabled()) {
+            deadlines.cancelChannel(UPDATE_CHANNEL);
             entries.values().forEach(entry -> {
                 Player player = Bukkit.getPlayer(entry.playerId());
                 if (player != null) {
@@ -63,6 +65,7 @@ public class ComboBossBarService {
     }
 
     public void clear(Player player) {
+        deadlines.cancel(player.getUniqueId(), UPDATE_CHANNEL);
         BossBarEntry entry = entries.remove(player.getUniqueId());
         if (entry != null) {
             player.hideBossBar(entry.bossBar());
@@ -102,12 +105,11 @@ public class ComboBossBarService {
             player.showBossBar(bossBar);
             return new BossBarEntry(uuid, bossBar, expireAt, windowMillis, actionCooldownEnd, stage);
         });
+        scheduleUpdate(player.getUniqueId(), now);
     }
 
     private Component formatTitle(PlayerProfile profile, int comboCount, double xpBonusPercent, int xpGained) {
-        String template = uiConfig.bossbar().titleFormat();
         int level = profile.getLevel();
-        double currentXp = profile.getXp();
         double xpToNext;
         try {
             xpToNext = progressionService.getXpToNextLevel(level);
@@ -117,14 +119,13 @@ public class ComboBossBarService {
         String nextDisplay = Double.isInfinite(xpToNext)
                 ? "MAX"
                 : Integer.toString((int) Math.round(xpToNext));
-        String formatted = template
-                .replace("{combo}", Integer.toString(comboCount))
-                .replace("{bonus}", String.format("%.0f", Math.max(0, xpBonusPercent) * 100.0))
-                .replace("{gain}", Integer.toString(Math.max(0, xpGained)))
-                .replace("{level}", Integer.toString(level))
-                .replace("{cur}", Integer.toString((int) Math.round(currentXp)))
-                .replace("{next}", nextDisplay);
-        return Text.colorize(formatted);
+        return titleTemplate.render(
+                Integer.toString(comboCount),
+                Long.toString(Math.round(Math.max(0, xpBonusPercent) * 100.0)),
+                Integer.toString(Math.max(0, xpGained)),
+                Integer.toString(level),
+                Integer.toString((int) Math.round(profile.getXp())),
+                nextDisplay);
     }
 
     private BossBar createBossBar(int comboCount) {
@@ -184,45 +185,59 @@ public class ComboBossBarService {
         return (float) value;
     }
 
-    private void tick() {
-        long now = System.currentTimeMillis();
-        var iterator = entries.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, BossBarEntry> mapEntry = iterator.next();
-            UUID uuid = mapEntry.getKey();
-            BossBarEntry entry = mapEntry.getValue();
-            Player player = Bukkit.getPlayer(uuid);
-            if (player == null) {
-                iterator.remove();
-                continue;
-            }
+    /**
+     * Animation steps are only scheduled while a bar is visible; the stage switch and the combo expiry
+     * are scheduled for their exact tick instead of being found by polling.
+     */
+    private void scheduleUpdate(UUID uuid, long now) {
+        BossBarEntry entry = entries.get(uuid);
+        if (entry == null) {
+            return;
+        }
+        long nextBoundary = entry.stage() == DisplayStage.COOLDOWN ? entry.actionCooldownEnd() : entry.expireAt();
+        long delayMillis = Math.max(0L, nextBoundary - now);
+        long delayTicks = (delayMillis + DeadlineScheduler.MILLIS_PER_TICK - 1) / DeadlineScheduler.MILLIS_PER_TICK;
+        deadlines.scheduleTicks(uuid, UPDATE_CHANNEL, Math.min(PROGRESS_INTERVAL_TICKS, Math.max(1L, delayTicks)), () -> update(uuid));
+    }
 
-            BossBarEntry current = entry;
-            double progressValue;
-            if (current.stage() == DisplayStage.COOLDOWN
-                    && uiConfig != null
-                    && uiConfig.bossbar().mode() == PluginConfig.UiConfig.BossBarConfig.BossBarMode.COOLDOWN_THEN_COMBO) {
-                if (current.actionCooldownEnd() <= now) {
-                    current = current.withStage(DisplayStage.COMBO);
-                    mapEntry.setValue(current);
-                    progressValue = comboProgress(current.expireAt(), current.windowMillis(), now);
-                } else {
-                    progressValue = cooldownProgress(now, current.actionCooldownEnd());
-                }
-            } else {
+    private void update(UUID uuid) {
+        BossBarEntry current = entries.get(uuid);
+        if (current == null) {
+            return;
+        }
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null) {
+            entries.remove(uuid);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        double progressValue;
+        if (current.stage() == DisplayStage.COOLDOWN
+                && uiConfig != null
+                && uiConfig.bossbar().mode() == PluginConfig.UiConfig.BossBarConfig.BossBarMode.COOLDOWN_THEN_COMBO) {
+            if (current.actionCooldownEnd() <= now) {
+                current = current.withStage(DisplayStage.COMBO);
+                entries.put(uuid, current);
                 progressValue = comboProgress(current.expireAt(), current.windowMillis(), now);
+            } else {
+                progressValue = cooldownProgress(now, current.actionCooldownEnd());
             }
+        } else {
+            progressValue = comboProgress(current.expireAt(), current.windowMillis(), now);
+        }
 
-            current.bossBar().progress(clampProgress(progressValue));
+        current.bossBar().progress(clampProgress(progressValue));
 
-            boolean shouldRemove = (current.stage() == DisplayStage.COMBO && progressValue <= 0.0)
-                    || uiConfig == null
-                    || !uiConfig.bossbar().enabled();
-            if (shouldRemove) {
-                player.hideBossBar(current.bossBar());
-                iterator.remove();
-            }
+        boolean shouldRemove = (current.stage() == DisplayStage.COMBO && progressValue <= 0.0)
+                || uiConfig == null
+                || !uiConfig.bossbar().enabled();
+        if (shouldRemove) {
+            player.hideBossBar(current.bossBar());
+            entries.remove(uuid);
+            return;
         }
+        scheduleUpdate(uuid, now);
     }
 
     private record BossBarEntry(UUID playerId,
@@ -1,10 +1,14 @@
 package wiki.creeper.farmGather.ui;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -12,37 +16,53 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.scheduler.BukkitTask;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.item.HeldHoeCache;
 import wiki.creeper.farmGather.player.HoeSkillType;
+import wiki.creeper.farmGather.scheduler.DeadlineScheduler;
 import wiki.creeper.farmGather.skills.SkillManager;
 import wiki.creeper.farmGather.util.ItemUtil;
-import wiki.creeper.farmGather.util.Text;
+import wiki.creeper.farmGather.util.TextTemplate;
 
 public class CooldownUiService implements Listener {
     private static final EnumSet<HoeSkillType> TRACKED_SKILLS = EnumSet.of(HoeSkillType.SWEEP, HoeSkillType.FOCUS, HoeSkillType.SHEARS);
+    private static final String REFRESH_CHANNEL = "cooldown-ui";
 
     private final FarmGather plugin;
     private final SkillManager skillManager;
+    private final HeldHoeCache heldHoeCache;
+    private final DeadlineScheduler deadlines;
 
     private PluginConfig.CooldownUiConfig config;
     private PluginConfig.CooldownUiConfig.CooldownUiMode activeMode;
     private ItemCountOverlay overlay;
-    private BukkitTask task;
     private final Map<UUID, Integer> lastPacketAmounts = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> lastHudAmounts = new ConcurrentHashMap<>();
+    private Set<String> harvestWorlds = Set.of();
+    private HudRender[] hudRenders = new HudRender[0];
+    private TextTemplate hudName = TextTemplate.compile("");
+    private List<TextTemplate> hudLore = List.of();
 
     public CooldownUiService(FarmGather plugin,
                              SkillManager skillManager,
+                             HeldHoeCache heldHoeCache,
+                             DeadlineScheduler deadlines,
                              PluginConfig.CooldownUiConfig config) {
         this.plugin = plugin;
         this.skillManager = skillManager;
+        this.heldHoeCache = heldHoeCache;
+        this.deadlines = deadlines;
         this.config = config;
         this.overlay = ItemCountOverlay.noop();
         this.activeMode = PluginConfig.CooldownUiConfig.CooldownUiMode.DISABLED;
@@ -51,20 +71,51 @@ public class CooldownUiService implements Listener {
     public void start() {
         stop();
         evaluateMode();
-        int period = Math.max(1, switch (activeMode) {
-            case PACKET_COUNT -> config.packet().resendTicks();
-            case LOCKED_HUD_SLOT -> config.packet().resendTicks();
-            case DISABLED -> 20;
-        });
-        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, period, period);
+        this.harvestWorlds = Set.copyOf(plugin.getPluginConfig().harvest().worlds());
+        this.hudRenders = new HudRender[Math.max(1, config.packet().clampMax()) + 1];
+        this.hudName = TextTemplate.compile(config.hud().name(), "sec");
+        this.hudLore = config.hud().lore().stream().map(line -> TextTemplate.compile(line, "sec")).toList();
+        Bukkit.getOnlinePlayers().forEach(this::refresh);
     }
 
     public void stop() {
-        if (task != null) {
-            task.cancel();
-            task = null;
-        }
+        deadlines.cancelChannel(REFRESH_CHANNEL);
         lastPacketAmounts.clear();
+        lastHudAmounts.clear();
+    }
+
+    /**
+     * Redraws the cooldown display for {@code player} and schedules the next redraw for the moment the
+     * displayed whole-second count changes. Players without a running cooldown cost nothing until a
+     * skill starts one.
+     */
+    public void refresh(Player player) {
+        switch (activeMode) {
+            case PACKET_COUNT -> updatePacketForPlayer(player);
+            case LOCKED_HUD_SLOT -> {
+                if (!updateHudForPlayer(player)) {
+                    deadlines.cancel(player.getUniqueId(), REFRESH_CHANNEL);
+                    return;
+                }
+            }
+            case DISABLED -> {
+                return;
+            }
+        }
+        long remainingMillis = computeRemainingMillis(player);
+        if (remainingMillis <= 0) {
+            deadlines.cancel(player.getUniqueId(), REFRESH_CHANNEL);
+            return;
+        }
+        long untilBoundary = remainingMillis % 1000L == 0 ? 1000L : remainingMillis % 1000L;
+        deadlines.schedule(player.getUniqueId(), REFRESH_CHANNEL, System.currentTimeMillis() + untilBoundary, () -> refresh(player));
+    }
+
+    private void refreshSoon(Player player) {
+        if (activeMode == PluginConfig.CooldownUiConfig.CooldownUiMode.DISABLED) {
+            return;
+        }
+        deadlines.scheduleTicks(player.getUniqueId(), REFRESH_CHANNEL, Math.max(1, config.packet().resendTicks()), () -> refresh(player));
     }
 
     public void reload(PluginConfig.CooldownUiConfig config) {
@@ -110,31 +161,11 @@ public class CooldownUiService implements Listener {
         }
     }
 
-    private void tick() {
-        switch (activeMode) {
-            case PACKET_COUNT -> handlePacketMode();
-            case LOCKED_HUD_SLOT -> handleHudMode();
-            case DISABLED -> {}
-        }
-    }
-
-    private void handlePacketMode() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            updatePacketForPlayer(player);
-        }
-    }
-
-    private void handleHudMode() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            ensureHudToken(player, computeDisplayAmount(player));
-        }
-    }
-
     private void updatePacketForPlayer(Player player) {
         ItemStack mainHand = player.getInventory().getItemInMainHand();
         UUID uuid = player.getUniqueId();
         int slotIndex = 36 + player.getInventory().getHeldItemSlot();
-        if (!ItemUtil.isFarmHoe(mainHand, plugin)) {
+        if (!heldHoeCache.get(player).farmHoe()) {
             Integer previous = lastPacketAmounts.remove(uuid);
             if (previous != null) {
                 ItemStack baseline = sanitizeBaseline(mainHand);
@@ -164,35 +195,55 @@ public class CooldownUiService implements Listener {
     }
 
     private int computeDisplayAmount(Player player) {
-        double remaining = computeRemainingSeconds(player);
+        long remaining = computeRemainingMillis(player);
         int clamp = Math.max(1, config.packet().clampMax());
-        if (remaining <= 0.0) {
+        if (remaining <= 0L) {
             return 1;
         }
-        return (int) Math.min(clamp, Math.ceil(remaining));
+        return (int) Math.min(clamp, (remaining + 999L) / 1000L);
     }
 
-    private double computeRemainingSeconds(Player player) {
-        Map<HoeSkillType, Double> cooldowns = skillManager.snapshotCooldowns(player);
-        if (cooldowns.isEmpty()) {
-            return 0.0;
-        }
-        PluginConfig.CooldownUiConfig.HudConfig.ShowSkill show = config.hud().showSkill();
-        return switch (show) {
-            case LONGEST -> cooldowns.entrySet().stream()
-                    .filter(entry -> TRACKED_SKILLS.contains(entry.getKey()))
-                    .mapToDouble(Map.Entry::getValue)
-                    .max()
-                    .orElse(0.0);
-            case SWEEP -> cooldowns.getOrDefault(HoeSkillType.SWEEP, 0.0);
-            case FOCUS -> cooldowns.getOrDefault(HoeSkillType.FOCUS, 0.0);
-            case SHEARS -> cooldowns.getOrDefault(HoeSkillType.SHEARS, 0.0);
+    private long computeRemainingMillis(Player player) {
+        long now = System.currentTimeMillis();
+        return switch (config.hud().showSkill()) {
+            case LONGEST -> skillManager.longestRemainingMillis(player, TRACKED_SKILLS, now);
+            case SWEEP -> skillManager.remainingMillis(player, HoeSkillType.SWEEP, now);
+            case FOCUS -> skillManager.remainingMillis(player, HoeSkillType.FOCUS, now);
+            case SHEARS -> skillManager.remainingMillis(player, HoeSkillType.SHEARS, now);
         };
     }
 
+    /**
+     * Rewrites the HUD token only when its displayed seconds differ from the last render, or when the
+     * token is missing. While the player is outside the harvest worlds or not holding a farm hoe, an
+     * existing token is left as it is and {@code false} is returned so no further redraws are scheduled;
+     * the world-change and held-item handlers bring it up to date again.
+     */
+    private boolean updateHudForPlayer(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        int slot = hudSlot();
+        ItemStack existing = inventory.getItem(slot);
+        boolean present = ItemUtil.isHudToken(existing, plugin);
+        boolean relevant = harvestWorlds.contains(player.getWorld().getName()) && heldHoeCache.get(player).farmHoe();
+        if (present && !relevant) {
+            return false;
+        }
+        int amount = computeDisplayAmount(player);
+        Integer previous = lastHudAmounts.get(player.getUniqueId());
+        if (present && previous != null && previous == amount && existing.getAmount() == amount) {
+            return relevant;
+        }
+        ensureHudToken(player, amount);
+        return relevant;
+    }
+
+    private int hudSlot() {
+        return Math.min(8, Math.max(0, config.hud().slot()));
+    }
+
     private void ensureHudToken(Player player, int amount) {
         PlayerInventory inventory = player.getInventory();
-        int slot = Math.min(8, Math.max(0, config.hud().slot()));
+        int slot = hudSlot();
         ItemStack existing = inventory.getItem(slot);
         if (!ItemUtil.isHudToken(existing, plugin)) {
             existing = createHudToken();
@@ -201,6 +252,10 @@ public class CooldownUiService implements Listener {
         }
         applyHudPresentation(existing, amount);
         inventory.setItem(slot, existing);
+        lastHudAmounts.put(player.getUniqueId(), amount);
+        if (slot == inventory.getHeldItemSlot()) {
+            heldHoeCache.invalidate(player);
+        }
     }
 
     private ItemStack createHudToken() {
@@ -217,40 +272,71 @@ public class CooldownUiService implements Listener {
         if (item == null) {
             return;
         }
-        item.setAmount(Math.max(1, Math.min(config.packet().clampMax(), amount)));
+        int clamped = Math.max(1, Math.min(config.packet().clampMax(), amount));
+        item.setAmount(clamped);
         var meta = item.getItemMeta();
         if (meta == null) {
             return;
         }
-        String nameTemplate = config.hud().name();
-        meta.displayName(Text.colorize(replaceSec(nameTemplate, amount)));
-        java.util.List<String> loreTemplates = config.hud().lore();
-        if (!loreTemplates.isEmpty()) {
-            java.util.List<net.kyori.adventure.text.Component> loreComponents = new java.util.ArrayList<>();
-            for (String line : loreTemplates) {
-                loreComponents.add(Text.colorize(replaceSec(line, amount)));
-            }
-            meta.lore(loreComponents);
-        } else {
-            meta.lore(null);
-        }
+        HudRender render = hudRender(clamped);
+        meta.displayName(render.name());
+        meta.lore(render.lore());
         item.setItemMeta(meta);
     }
 
-    private String replaceSec(String template, int seconds) {
-        return template.replace("{sec}", String.valueOf(seconds));
+    private HudRender hudRender(int seconds) {
+        HudRender[] renders = hudRenders;
+        if (seconds < renders.length && renders[seconds] != null) {
+            return renders[seconds];
+        }
+        String value = Integer.toString(seconds);
+        Component name = hudName.render(value);
+        List<Component> lore = null;
+        if (!hudLore.isEmpty()) {
+            List<Component> lines = new ArrayList<>(hudLore.size());
+            for (TextTemplate line : hudLore) {
+                lines.add(line.render(value));
+            }
+            lore = List.copyOf(lines);
+        }
+        HudRender render = new HudRender(name, lore);
+        if (seconds < renders.length) {
+            renders[seconds] = render;
+        }
+        return render;
     }
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        if (activeMode == PluginConfig.CooldownUiConfig.CooldownUiMode.LOCKED_HUD_SLOT) {
-            Bukkit.getScheduler().runTask(plugin, () -> ensureHudToken(event.getPlayer(), computeDisplayAmount(event.getPlayer())));
-        }
+        refreshSoon(event.getPlayer());
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         lastPacketAmounts.remove(event.getPlayer().getUniqueId());
+        lastHudAmounts.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        refreshSoon(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        refreshSoon(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            refreshSoon(player);
+        }
+    }
+
+    @EventHandler
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        refreshSoon(event.getPlayer());
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -263,7 +349,7 @@ public class CooldownUiService implements Listener {
         }
         if (ItemUtil.isHudToken(event.getItemDrop().getItemStack(), plugin)) {
             event.setCancelled(true);
-            Bukkit.getScheduler().runTask(plugin, () -> ensureHudToken(event.getPlayer(), computeDisplayAmount(event.getPlayer())));
+            refreshSoon(event.getPlayer());
         }
     }
 
@@ -280,7 +366,10 @@ public class CooldownUiService implements Listener {
         if (activeMode != PluginConfig.CooldownUiConfig.CooldownUiMode.LOCKED_HUD_SLOT) {
             return;
         }
-        Bukkit.getScheduler().runTask(plugin, () -> ensureHudToken(event.getPlayer(), computeDisplayAmount(event.getPlayer())));
+        refreshSoon(event.getPlayer());
+    }
+
+    private record HudRender(Component name, List<Component> lore) {
     }
 
     private interface ItemCountOverlay {
@@ -0,0 +1,74 @@
+package wiki.creeper.farmGather.ui;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.util.TextTemplate;
+
+/**
+ * Sends the configured notification messages. Messages are deserialized once per reload, and the same
+ * notification is not repeated to a player within {@code dedupe_window_ms}.
+ */
+public class NotificationService implements Listener {
+    public enum Notification {
+        HARVEST_DENIED,
+        INVENTORY_FULL,
+        ENERGY_MISSING,
+        COOLDOWN_ACTIVE
+    }
+
+    private static final Notification[] NOTIFICATIONS = Notification.values();
+
+    private final Map<UUID, long[]> lastSent = new ConcurrentHashMap<>();
+
+    private volatile Component[] messages = new Component[NOTIFICATIONS.length];
+    private volatile long dedupeWindowMs;
+
+    public NotificationService(PluginConfig.NotificationsConfig config) {
+        reload(config);
+    }
+
+    public void reload(PluginConfig.NotificationsConfig config) {
+        Component[] compiled = new Component[NOTIFICATIONS.length];
+        compiled[Notification.HARVEST_DENIED.ordinal()] = compile(config.harvestDenied());
+        compiled[Notification.INVENTORY_FULL.ordinal()] = compile(config.inventoryFull());
+        compiled[Notification.ENERGY_MISSING.ordinal()] = compile(config.energyMissing());
+        compiled[Notification.COOLDOWN_ACTIVE.ordinal()] = compile(config.cooldownActive());
+        this.messages = compiled;
+        this.dedupeWindowMs = config.dedupeWindowMs();
+        lastSent.clear();
+    }
+
+    public void send(Player player, Notification notification) {
+        Component message = messages[notification.ordinal()];
+        if (message == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long[] sentAt = lastSent.computeIfAbsent(player.getUniqueId(), key -> new long[NOTIFICATIONS.length]);
+        int index = notification.ordinal();
+        if (sentAt[index] != 0L && now - sentAt[index] < dedupeWindowMs) {
+            return;
+        }
+        sentAt[index] = now;
+        player.sendMessage(message);
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        lastSent.remove(event.getPlayer().getUniqueId());
+    }
+
+    private static Component compile(String message) {
+        if (message == null || message.isBlank()) {
+            return null;
+        }
+        return TextTemplate.compile(message).render();
+    }
+}
@@ -0,0 +1,34 @@
+package wiki.creeper.farmGather.util;
+
+import java.util.Optional;
+import java.util.UUID;
+import wiki.creeper.farmGather.player.HoeSkill;
+import wiki.creeper.farmGather.player.HoeSkillType;
+
+/**
+ * Snapshot of every FarmGather tag on an item, read in one pass by {@link ItemUtil#readIdentity}.
+ * Immutable, so a handler can read it once and hand it to everything else in the same dispatch.
+ */
+public record HoeIdentity(boolean farmHoe,
+                          String uid,
+                          UUID owner,
+                          HoeSkillType skillType,
+                          int skillLevel,
+                          boolean hudToken) {
+    public static final HoeIdentity NONE = new HoeIdentity(false, null, null, null, 0, false);
+
+    public boolean hasUid() {
+        return uid != null;
+    }
+
+    public boolean isTracked() {
+        return farmHoe || hudToken;
+    }
+
+    public Optional<HoeSkill> skill() {
+        if (skillType == null || skillLevel <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new HoeSkill(skillType, skillLevel));
+    }
+}
@@ -11,6 +11,7 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataContainerView;
 import org.bukkit.persistence.PersistentDataType;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.player.HoeSkill;
@@ -24,21 +25,57 @@ public final class ItemUtil {
     private static final String HOE_SKILL_LEVEL_TAG = "hoe_skill_level";
     private static final String HUD_TOKEN_TAG = "hud_token";
 
+    private static volatile Keys keys;
+
     private ItemUtil() {
     }
 
-    public static boolean isFarmHoe(ItemStack item, FarmGather plugin) {
-        if (item == null || item.getType() == Material.AIR) {
-            return false;
+    /**
+     * Reads every FarmGather tag on the item with a single container lookup. Uses the read-only
+     * container view, so the item meta is not copied.
+     */
+    public static HoeIdentity readIdentity(ItemStack item, FarmGather plugin) {
+        PersistentDataContainerView container = view(item);
+        if (container == null) {
+            return HoeIdentity.NONE;
         }
+        return readIdentity(container, keys(plugin));
+    }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
+    static HoeIdentity readIdentity(PersistentDataContainerView container, Keys keys) {
+        Byte hoe = container.get(keys.hoe, PersistentDataType.BYTE);
+        Byte hud = container.get(keys.hudToken, PersistentDataType.BYTE);
+        String uid = container.get(keys.uid, PersistentDataType.STRING);
+        String owner = container.get(keys.owner, PersistentDataType.STRING);
+        String skillType = container.get(keys.skillType, PersistentDataType.STRING);
+        Integer skillLevel = container.get(keys.skillLevel, PersistentDataType.INTEGER);
+
+        HoeSkillType type = null;
+        int level = 0;
+        if (skillType != null && skillLevel != null && skillLevel > 0) {
+            try {
+                type = HoeSkillType.fromKey(skillType);
+                level = skillLevel;
+            } catch (IllegalArgumentException ignored) {
+                // unknown skill on an old item
+            }
         }
+        return new HoeIdentity(
+                hoe != null && hoe == 1,
+                uid == null || uid.isBlank() ? null : uid,
+                parseUuid(owner),
+                type,
+                level,
+                hud != null && hud == 1
+        );
+    }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        Byte value = container.get(key(plugin, HOE_TAG), PersistentDataType.BYTE);
+    public static boolean isFarmHoe(ItemStack item, FarmGather plugin) {
+        PersistentDataContainerView container = view(item);
+        if (container == null) {
+            return false;
+        }
+        Byte value = container.get(keys(plugin).hoe, PersistentDataType.BYTE);
         return value != null && value == 1;
     }
 
@@ -56,10 +93,10 @@ public final class ItemUtil {
         }
 
         PersistentDataContainer container = meta.getPersistentDataContainer();
-        container.set(key(plugin, HOE_TAG), PersistentDataType.BYTE, (byte) 1);
+        container.set(keys(plugin).hoe, PersistentDataType.BYTE, (byte) 1);
         ensureUidTag(container, plugin);
-        container.set(key(plugin, HOE_SKILL_TYPE_TAG), PersistentDataType.STRING, type.name().toLowerCase(Locale.ROOT));
-        container.set(key(plugin, HOE_SKILL_LEVEL_TAG), PersistentDataType.INTEGER, level);
+        container.set(keys(plugin).skillType, PersistentDataType.STRING, type.name().toLowerCase(Locale.ROOT));
+        container.set(keys(plugin).skillLevel, PersistentDataType.INTEGER, level);
         maybeSetOwner(container, owner, plugin);
 
         Component displayName = Text.colorize(String.format("&b%s 호미 &7(Lv.%d)", localizeSkill(type), level));
@@ -70,29 +107,7 @@ public final class ItemUtil {
     }
 
     public static Optional<HoeSkill> readHoeSkill(ItemStack item, FarmGather plugin) {
-        if (item == null || item.getType() == Material.AIR) {
-            return Optional.empty();
-        }
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return Optional.empty();
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        String typeId = container.get(key(plugin, HOE_SKILL_TYPE_TAG), PersistentDataType.STRING);
-        Integer level = container.get(key(plugin, HOE_SKILL_LEVEL_TAG), PersistentDataType.INTEGER);
-        if (typeId == null || level == null) {
-            return Optional.empty();
-        }
-
-        try {
-            HoeSkillType type = HoeSkillType.fromKey(typeId);
-            if (level <= 0) {
-                return Optional.empty();
-            }
-            return Optional.of(new HoeSkill(type, level));
-        } catch (IllegalArgumentException ex) {
-            return Optional.empty();
-        }
+        return readIdentity(item, plugin).skill();
     }
 
     public static ItemStack createBasicHoe(FarmGather plugin, UUID owner) {
@@ -100,7 +115,7 @@ public final class ItemUtil {
         ItemMeta meta = hoe.getItemMeta();
         if (meta != null) {
             PersistentDataContainer container = meta.getPersistentDataContainer();
-            container.set(key(plugin, HOE_TAG), PersistentDataType.BYTE, (byte) 1);
+            container.set(keys(plugin).hoe, PersistentDataType.BYTE, (byte) 1);
             ensureUidTag(container, plugin);
             maybeSetOwner(container, owner, plugin);
             meta.displayName(Text.colorize("&a기본 채집 호미"));
@@ -113,14 +128,11 @@ public final class ItemUtil {
     }
 
     public static Optional<String> readUid(ItemStack item, FarmGather plugin) {
-        if (item == null) {
+        PersistentDataContainerView container = view(item);
+        if (container == null) {
             return Optional.empty();
         }
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return Optional.empty();
-        }
-        String value = meta.getPersistentDataContainer().get(key(plugin, UID_TAG), PersistentDataType.STRING);
+        String value = container.get(keys(plugin).uid, PersistentDataType.STRING);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
@@ -129,22 +141,11 @@ public final class ItemUtil {
     }
 
     public static Optional<UUID> readOwner(ItemStack item, FarmGather plugin) {
-        if (item == null) {
-            return Optional.empty();
-        }
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return Optional.empty();
-        }
-        String value = meta.getPersistentDataContainer().get(key(plugin, OWNER_TAG), PersistentDataType.STRING);
-        if (value == null || value.isBlank()) {
-            return Optional.empty();
-        }
-        try {
-            return Optional.of(UUID.fromString(value));
-        } catch (IllegalArgumentException ex) {
+        PersistentDataContainerView container = view(item);
+        if (container == null) {
             return Optional.empty();
         }
+        return Optional.ofNullable(parseUuid(container.get(keys(plugin).owner, PersistentDataType.STRING)));
     }
 
     public static void ensureOwner(ItemStack item, UUID owner, FarmGather plugin) {
@@ -168,7 +169,7 @@ public final class ItemUtil {
         if (meta == null) {
             return;
         }
-        meta.getPersistentDataContainer().set(key(plugin, UID_TAG), PersistentDataType.STRING, uid);
+        meta.getPersistentDataContainer().set(keys(plugin).uid, PersistentDataType.STRING, uid);
         item.setItemMeta(meta);
     }
 
@@ -181,20 +182,17 @@ public final class ItemUtil {
             return;
         }
         PersistentDataContainer container = meta.getPersistentDataContainer();
-        container.set(key(plugin, HUD_TOKEN_TAG), PersistentDataType.BYTE, (byte) 1);
+        container.set(keys(plugin).hudToken, PersistentDataType.BYTE, (byte) 1);
         ensureUidTag(container, plugin);
         item.setItemMeta(meta);
     }
 
     public static boolean isHudToken(ItemStack item, FarmGather plugin) {
-        if (item == null) {
-            return false;
-        }
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
+        PersistentDataContainerView container = view(item);
+        if (container == null) {
             return false;
         }
-        Byte value = meta.getPersistentDataContainer().get(key(plugin, HUD_TOKEN_TAG), PersistentDataType.BYTE);
+        Byte value = container.get(keys(plugin).hudToken, PersistentDataType.BYTE);
         return value != null && value == 1;
     }
 
@@ -207,8 +205,92 @@ public final class ItemUtil {
         };
     }
 
-    private static NamespacedKey key(FarmGather plugin, String value) {
-        return new NamespacedKey(plugin, value);
+    private static PersistentDataContainerView view(ItemStack item) {
+        if (item == null || item.getType().isAir() || !item.hasItemMeta()) {
+            return null;
+        }
+        return item.getPersistentDataContainer();
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static Keys keys(FarmGather plugin) {
+        Keys current = keys;
+        if (current == null || current.plugin != plugin) {
+            current = new Keys(plugin);
+            keys = current;
+        }
+        return current;
+    }
+
+    // NamespacedKey validates and lower-cases on construction; build them once per plugin instance.
+    static final class Keys {
+        private final FarmGather plugin;
+        private final NamespacedKey hoe;
+        private final NamespacedKey uid;
+        private final NamespacedKey owner;
+        private final NamespacedKey skillType;
+        private final NamespacedKey skillLevel;
+        private final NamespacedKey hudToken;
+
+        // for benchmarks, which have no plugin instance to take the namespace from
+        Keys(String namespace) {
+            this.plugin = null;
+            this.hoe = new NamespacedKey(namespace, HOE_TAG);
+            this.uid = new NamespacedKey(namespace, UID_TAG);
+            this.owner = new NamespacedKey(namespace, OWNER_TAG);
+            this.skillType = new NamespacedKey(namespace, HOE_SKILL_TYPE_TAG);
+            this.skillLevel = new NamespacedKey(namespace, HOE_SKILL_LEVEL_TAG);
+            this.hudToken = new NamespacedKey(namespace, HUD_TOKEN_TAG);
+        }
+
+        private Keys(FarmGather plugin) {
+            this.plugin = plugin;
+            this.hoe = new NamespacedKey(plugin, HOE_TAG);
+            this.uid = new NamespacedKey(plugin, UID_TAG);
+            this.owner = new NamespacedKey(plugin, OWNER_TAG);
+            this.skillType = new NamespacedKey(plugin, HOE_SKILL_TYPE_TAG);
+            this.skillLevel = new NamespacedKey(plugin, HOE_SKILL_LEVEL_TAG);
+            this.hudToken = new NamespacedKey(plugin, HUD_TOKEN_TAG);
+        }
+    }
+
+    /**
+     * Adds {@code stack} to {@code stacks}, topping up similar stacks before appending a copy of the
+     * rest. {@code stack} itself is never stored.
+     */
+    public static void mergeStack(List<ItemStack> stacks, ItemStack stack) {
+        if (stack == null || stack.getType().isAir()) {
+            return;
+        }
+        int remaining = stack.getAmount();
+        for (ItemStack existing : stacks) {
+            if (remaining <= 0) {
+                return;
+            }
+            if (!existing.isSimilar(stack)) {
+                continue;
+            }
+            int moved = Math.min(existing.getMaxStackSize() - existing.getAmount(), remaining);
+            if (moved > 0) {
+                existing.setAmount(existing.getAmount() + moved);
+                remaining -= moved;
+            }
+        }
+        if (remaining > 0) {
+            ItemStack copy = stack.clone();
+            copy.setAmount(remaining);
+            stacks.add(copy);
+        }
     }
 
     public static void ensureUid(ItemStack item, FarmGather plugin) {
@@ -225,13 +307,13 @@ public final class ItemUtil {
     }
 
     private static void ensureUidTag(PersistentDataContainer container, FarmGather plugin) {
-        if (container.has(key(plugin, UID_TAG), PersistentDataType.STRING)) {
-            String current = container.get(key(plugin, UID_TAG), PersistentDataType.STRING);
+        if (container.has(keys(plugin).uid, PersistentDataType.STRING)) {
+            String current = container.get(keys(plugin).uid, PersistentDataType.STRING);
             if (current != null && !current.isBlank()) {
                 return;
             }
         }
-        container.set(key(plugin, UID_TAG), PersistentDataType.STRING, UUID.randomUUID().toString());
+        container.set(keys(plugin).uid, PersistentDataType.STRING, UUID.randomUUID().toString());
     }
 
     private static void maybeSetOwner(PersistentDataContainer container, UUID owner, FarmGather plugin) {
@@ -241,6 +323,6 @@ public final class ItemUtil {
         if (!plugin.getPluginConfig().itemIdentity().ownerLock()) {
             return;
         }
-        container.set(key(plugin, OWNER_TAG), PersistentDataType.STRING, owner.toString());
+        container.set(keys(plugin).owner, PersistentDataType.STRING, owner.toString());
     }
 }
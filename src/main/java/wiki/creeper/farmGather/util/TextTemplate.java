@@ -0,0 +1,157 @@
+package wiki.creeper.farmGather.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+
+/**
+ * A {@code &}-colour message template with {@code {name}} placeholders, parsed once into styled
+ * segments. Literal text is deserialized and styled at compile time; rendering only creates one text
+ * component per placeholder and joins the prebuilt pieces. Placeholder values are inserted as plain
+ * text and keep the colour that was active at their position in the template. Placeholders that were
+ * not declared at compile time are kept as literal text.
+ */
+public final class TextTemplate {
+    private static final char PRIVATE_USE_FIRST = '\uE000';
+    private static final char PRIVATE_USE_LAST = '\uF8FF';
+    private static final int MAX_PLACEHOLDERS = 256;
+
+    private final String source;
+    private final Segment[] segments;
+    private final int placeholderCount;
+    private final Component constant;
+
+    private TextTemplate(String source, Segment[] segments, int placeholderCount) {
+        this.source = source;
+        this.segments = segments;
+        this.placeholderCount = placeholderCount;
+        this.constant = hasSlots(segments) ? null : join(segments, new String[0]);
+    }
+
+    /**
+     * Compiles {@code template}. The position of each name in {@code placeholders} is the index of its
+     * value in {@link #render(String...)}.
+     */
+    public static TextTemplate compile(String template, String... placeholders) {
+        if (placeholders.length > MAX_PLACEHOLDERS) {
+            throw new IllegalArgumentException("Too many placeholders: " + placeholders.length);
+        }
+        String source = template == null ? "" : template;
+        char base = sentinelBase(source, placeholders.length);
+        String marked = source;
+        for (int i = 0; i < placeholders.length; i++) {
+            marked = marked.replace("{" + placeholders[i] + "}", String.valueOf((char) (base + i)));
+        }
+        List<Segment> segments = new ArrayList<>();
+        flatten(Text.colorize(marked), Style.empty(), base, placeholders.length, segments);
+        return new TextTemplate(source, segments.toArray(Segment[]::new), placeholders.length);
+    }
+
+    /**
+     * Placeholders are marked with a run of private-use characters before the colour codes are parsed.
+     * Resource-pack glyphs live in the same block, so the run is placed where the template has no
+     * character of its own; a literal glyph is never mistaken for a placeholder.
+     */
+    private static char sentinelBase(String source, int count) {
+        if (count == 0) {
+            return PRIVATE_USE_FIRST;
+        }
+        BitSet used = new BitSet(PRIVATE_USE_LAST - PRIVATE_USE_FIRST + 1);
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c >= PRIVATE_USE_FIRST && c <= PRIVATE_USE_LAST) {
+                used.set(c - PRIVATE_USE_FIRST);
+            }
+        }
+        int start = 0;
+        while (start + count <= PRIVATE_USE_LAST - PRIVATE_USE_FIRST + 1) {
+            int clash = used.nextSetBit(start);
+            if (clash < 0 || clash >= start + count) {
+                return (char) (PRIVATE_USE_FIRST + start);
+            }
+            start = clash + 1;
+        }
+        throw new IllegalArgumentException("Template leaves no free private-use range for " + count + " placeholders");
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Renders the template with {@code values} in placeholder order. Missing values render as empty
+     * text.
+     */
+    public Component render(String... values) {
+        if (constant != null) {
+            return constant;
+        }
+        return join(segments, values);
+    }
+
+    public int placeholderCount() {
+        return placeholderCount;
+    }
+
+    private static Component join(Segment[] segments, String[] values) {
+        if (segments.length == 0) {
+            return Component.empty();
+        }
+        if (segments.length == 1 && segments[0].slot() < 0) {
+            return segments[0].literal();
+        }
+        Component[] parts = new Component[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[i];
+            if (segment.slot() < 0) {
+                parts[i] = segment.literal();
+            } else {
+                String value = segment.slot() < values.length && values[segment.slot()] != null ? values[segment.slot()] : "";
+                parts[i] = Component.text(value, segment.style());
+            }
+        }
+        return Component.textOfChildren(parts);
+    }
+
+    private static boolean hasSlots(Segment[] segments) {
+        return Arrays.stream(segments).anyMatch(segment -> segment.slot() >= 0);
+    }
+
+    private static void flatten(Component component, Style inherited, char base, int placeholderCount, List<Segment> out) {
+        Style style = inherited.merge(component.style());
+        if (component instanceof TextComponent text && !text.content().isEmpty()) {
+            split(text.content(), style, base, placeholderCount, out);
+        }
+        for (Component child : component.children()) {
+            flatten(child, style, base, placeholderCount, out);
+        }
+    }
+
+    private static void split(String content, Style style, char base, int placeholderCount, List<Segment> out) {
+        int start = 0;
+        for (int i = 0; i < content.length(); i++) {
+            int slot = content.charAt(i) - base;
+            if (slot < 0 || slot >= placeholderCount) {
+                continue;
+            }
+            if (i > start) {
+                out.add(Segment.literal(content.substring(start, i), style));
+            }
+            out.add(new Segment(null, slot, style));
+            start = i + 1;
+        }
+        if (start < content.length()) {
+            out.add(Segment.literal(content.substring(start), style));
+        }
+    }
+
+    private record Segment(Component literal, int slot, Style style) {
+        static Segment literal(String text, Style style) {
+            return new Segment(Component.text(text, style), -1, style);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package wiki.creeper.farmGather.world;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.scheduler.BukkitTask;
+import wiki.creeper.farmGather.FarmGather;
+import wiki.creeper.farmGather.config.PluginConfig;
+import wiki.creeper.farmGather.harvest.RegrowthClass;
+
+/**
+ * Puts harvested blocks back after the delay of their {@link RegrowthClass}. Pending blocks are kept
+ * per world and chunk as position-sorted primitive arrays, with block states interned in a shared
+ * palette. Once a second the chunks that are loaded and have something due are queued, and every tick
+ * restores up to {@code blocks_per_tick} of them; chunks that are not loaded wait until they are.
+ * Pending regrowth is written to {@code regrowth.dat} periodically and on shutdown. Every method must be
+ * called from the main thread.
+ */
+public class RegrowthService {
+    private static final int FILE_VERSION = 1;
+    private static final long SCAN_INTERVAL_TICKS = 20L;
+
+    private final FarmGather plugin;
+    private final Path file;
+    private final Map<String, Map<Long, ChunkRegrowth>> worlds = new HashMap<>();
+    private final List<BlockData> palette = new ArrayList<>();
+    private final Map<BlockData, Integer> paletteIndex = new HashMap<>();
+    private final ArrayDeque<ReadyChunk> ready = new ArrayDeque<>();
+
+    private PluginConfig.WorldConfig.RegrowthConfig config;
+    private BukkitTask task;
+    private long tick;
+    private long lastSaveTick;
+
+    public RegrowthService(FarmGather plugin, PluginConfig.WorldConfig.RegrowthConfig config) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve("regrowth.dat");
+        this.config = config;
+    }
+
+    public void start() {
+        load();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        try {
+            write(encode());
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save pending regrowth", ex);
+        }
+        ready.clear();
+    }
+
+    public void reload(PluginConfig.WorldConfig.RegrowthConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Schedules {@code original} to be put back at {@code block} once the delay of
+     * {@code regrowthClass} has passed. Call before the block is cleared.
+     */
+    public void record(Block block, BlockData original, RegrowthClass regrowthClass) {
+        if (!config.enabled()) {
+            return;
+        }
+        long delayMillis = delayMillis(regrowthClass);
+        if (delayMillis <= 0) {
+            return;
+        }
+        long dueAt = System.currentTimeMillis() + delayMillis;
+        int x = block.getX();
+        int z = block.getZ();
+        worlds.computeIfAbsent(block.getWorld().getName(), key -> new HashMap<>())
+                .computeIfAbsent(Chunk.getChunkKey(x >> 4, z >> 4), key -> new ChunkRegrowth())
+                .put(Block.getBlockKey(x, block.getY(), z), dueAt, intern(original));
+    }
+
+    /**
+     * Drops all pending regrowth for {@code worldName}, for example after the world was regenerated.
+     */
+    public void clearWorld(String worldName) {
+        worlds.remove(worldName);
+        ready.removeIf(entry -> entry.worldName().equals(worldName));
+    }
+
+    public int pendingCount() {
+        int count = 0;
+        for (Map<Long, ChunkRegrowth> chunks : worlds.values()) {
+            for (ChunkRegrowth chunk : chunks.values()) {
+                count += chunk.size;
+            }
+        }
+        return count;
+    }
+
+    private long delayMillis(RegrowthClass regrowthClass) {
+        double seconds = switch (regrowthClass) {
+            case NONE -> 0.0;
+            case FAST -> config.fastSec();
+            case NORMAL -> config.normalSec();
+            case SLOW -> config.slowSec();
+        };
+        return (long) (seconds * 1000.0);
+    }
+
+    private int intern(BlockData data) {
+        Integer index = paletteIndex.get(data);
+        if (index != null) {
+            return index;
+        }
+        int created = palette.size();
+        BlockData copy = data.clone();
+        palette.add(copy);
+        paletteIndex.put(copy, created);
+        return created;
+    }
+
+    private void tick() {
+        tick++;
+        long now = System.currentTimeMillis();
+        if (config.saveIntervalSec() > 0 && tick - lastSaveTick >= config.saveIntervalSec() * 20L) {
+            lastSaveTick = tick;
+            saveAsync();
+        }
+        if (!config.enabled()) {
+            return;
+        }
+        if (tick % SCAN_INTERVAL_TICKS == 0) {
+            queueReadyChunks(now);
+        }
+        int budget = config.blocksPerTick();
+        while (budget > 0 && !ready.isEmpty()) {
+            ReadyChunk entry = ready.peekFirst();
+            World world = Bukkit.getWorld(entry.worldName());
+            Map<Long, ChunkRegrowth> chunks = worlds.get(entry.worldName());
+            ChunkRegrowth chunk = chunks == null ? null : chunks.get(entry.chunkKey());
+            if (world == null || chunk == null || !world.isChunkLoaded((int) entry.chunkKey(), (int) (entry.chunkKey() >> 32))) {
+                ready.pollFirst();
+                continue;
+            }
+            budget -= chunk.restoreDue(world, now, budget, palette);
+            if (chunk.earliestDue > now) {
+                ready.pollFirst();
+                if (chunk.size == 0) {
+                    chunks.remove(entry.chunkKey());
+                    if (chunks.isEmpty()) {
+                        worlds.remove(entry.worldName());
+                    }
+                }
+            }
+        }
+    }
+
+    private void queueReadyChunks(long now) {
+        ready.clear();
+        for (Map.Entry<String, Map<Long, ChunkRegrowth>> worldEntry : worlds.entrySet()) {
+            World world = Bukkit.getWorld(worldEntry.getKey());
+            if (world == null) {
+                continue;
+            }
+            for (Map.Entry<Long, ChunkRegrowth> chunkEntry : worldEntry.getValue().entrySet()) {
+                long chunkKey = chunkEntry.getKey();
+                if (chunkEntry.getValue().earliestDue <= now && world.isChunkLoaded((int) chunkKey, (int) (chunkKey >> 32))) {
+                    ready.addLast(new ReadyChunk(worldEntry.getKey(), chunkKey));
+                }
+            }
+        }
+    }
+
+    private void saveAsync() {
+        byte[] data;
+        try {
+            data = encode();
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "Failed to encode pending regrowth", ex);
+            return;
+        }
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                write(data);
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.WARNING, "Failed to save pending regrowth", ex);
+            }
+        });
+    }
+
+    private synchronized void write(byte[] data) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, data);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(bytes))) {
+            out.writeInt(FILE_VERSION);
+            out.writeInt(palette.size());
+            for (BlockData data : palette) {
+                out.writeUTF(data.getAsString());
+            }
+            out.writeInt(worlds.size());
+            for (Map.Entry<String, Map<Long, ChunkRegrowth>> worldEntry : worlds.entrySet()) {
+                out.writeUTF(worldEntry.getKey());
+                out.writeInt(worldEntry.getValue().size());
+                for (Map.Entry<Long, ChunkRegrowth> chunkEntry : worldEntry.getValue().entrySet()) {
+                    ChunkRegrowth chunk = chunkEntry.getValue();
+                    out.writeLong(chunkEntry.getKey());
+                    out.writeInt(chunk.size);
+                    for (int i = 0; i < chunk.size; i++) {
+                        out.writeLong(chunk.positions[i]);
+                        out.writeLong(chunk.dueAt[i]);
+                        out.writeInt(chunk.states[i]);
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void load() {
+        worlds.clear();
+        palette.clear();
+        paletteIndex.clear();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                plugin.getLogger().warning("Ignoring regrowth.dat with unknown version " + version);
+                return;
+            }
+            int paletteSize = in.readInt();
+            int[] remap = new int[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                String value = in.readUTF();
+                try {
+                    remap[i] = intern(Bukkit.createBlockData(value));
+                } catch (IllegalArgumentException ex) {
+                    plugin.getLogger().warning("Dropping regrowth for unknown block state " + value);
+                    remap[i] = -1;
+                }
+            }
+            int worldCount = in.readInt();
+            for (int w = 0; w < worldCount; w++) {
+                String worldName = in.readUTF();
+                int chunkCount = in.readInt();
+                Map<Long, ChunkRegrowth> chunks = new HashMap<>();
+                for (int c = 0; c < chunkCount; c++) {
+                    long chunkKey = in.readLong();
+                    int size = in.readInt();
+                    ChunkRegrowth chunk = new ChunkRegrowth();
+                    for (int i = 0; i < size; i++) {
+                        long position = in.readLong();
+                        long dueAt = in.readLong();
+                        int state = in.readInt();
+                        if (state >= 0 && state < paletteSize && remap[state] >= 0) {
+                            chunk.put(position, dueAt, remap[state]);
+                        }
+                    }
+                    if (chunk.size > 0) {
+                        chunks.put(chunkKey, chunk);
+                    }
+                }
+                if (!chunks.isEmpty()) {
+                    worlds.put(worldName, chunks);
+                }
+            }
+            plugin.getLogger().info("Loaded " + pendingCount() + " pending regrowth blocks");
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load pending regrowth", ex);
+            worlds.clear();
+        }
+    }
+
+    private record ReadyChunk(String worldName, long chunkKey) {
+    }
+
+    /**
+     * Pending blocks of one chunk as parallel arrays sorted by packed block position.
+     */
+    private static final class ChunkRegrowth {
+        private long[] positions = new long[4];
+        private long[] dueAt = new long[4];
+        private int[] states = new int[4];
+        private int size;
+        private long earliestDue = Long.MAX_VALUE;
+
+        void put(long position, long due, int state) {
+            int index = Arrays.binarySearch(positions, 0, size, position);
+            if (index < 0) {
+                index = -index - 1;
+                if (size == positions.length) {
+                    int capacity = size * 2;
+                    positions = Arrays.copyOf(positions, capacity);
+                    dueAt = Arrays.copyOf(dueAt, capacity);
+                    states = Arrays.copyOf(states, capacity);
+                }
+                System.arraycopy(positions, index, positions, index + 1, size - index);
+                System.arraycopy(dueAt, index, dueAt, index + 1, size - index);
+                System.arraycopy(states, index, states, index + 1, size - index);
+                positions[index] = position;
+                size++;
+            }
+            dueAt[index] = due;
+            states[index] = state;
+            earliestDue = Math.min(earliestDue, due);
+        }
+
+        /**
+         * Restores up to {@code budget} due blocks, compacting the arrays in place, and returns how many
+         * entries were consumed. A block that is no longer air is left alone and forgotten.
+         */
+        int restoreDue(World world, long now, int budget, List<BlockData> palette) {
+            int consumed = 0;
+            int kept = 0;
+            long nextDue = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (dueAt[i] <= now && consumed < budget) {
+                    consumed++;
+                    long position = positions[i];
+                    Block block = world.getBlockAt(Block.getBlockKeyX(position), Block.getBlockKeyY(position), Block.getBlockKeyZ(position));
+                    if (block.getType().isAir()) {
+                        block.setBlockData(palette.get(states[i]), false);
+                    }
+                    continue;
+                }
+                positions[kept] = positions[i];
+                dueAt[kept] = dueAt[i];
+                states[kept] = states[i];
+                nextDue = Math.min(nextDue, dueAt[i]);
+                kept++;
+            }
+            size = kept;
+            earliestDue = nextDue;
+            return consumed;
+        }
+    }
+}
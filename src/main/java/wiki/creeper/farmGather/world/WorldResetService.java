@@ -68,6 +68,8 @@ public class WorldResetService {
                 continue;
             }
 
+            plugin.getRegrowthService().clearWorld(worldName);
+
             WorldCreator creator = WorldCreator.name(worldName);
             World newWorld = creator.createWorld();
             if (newWorld == null) {
@@ -19,7 +19,6 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.jetbrains.annotations.NotNull;
 import wiki.creeper.farmGather.FarmGather;
 import wiki.creeper.farmGather.config.PluginConfig;
-import wiki.creeper.farmGather.util.ItemUtil;
 import wiki.creeper.farmGather.util.Text;
 
 public class WorldRuleListener implements Listener {
@@ -79,7 +78,7 @@ public class WorldRuleListener implements Listener {
             return;
         }
 
-        boolean isHoe = ItemUtil.isFarmHoe(event.getPlayer().getInventory().getItemInMainHand(), plugin);
+        boolean isHoe = plugin.getHeldHoeCache().get(event.getPlayer()).farmHoe();
         switch (event.getAction()) {
             case RIGHT_CLICK_BLOCK -> {
                 if (!isHoe) {
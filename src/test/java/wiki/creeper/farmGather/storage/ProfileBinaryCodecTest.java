@@ -0,0 +1,341 @@
+package wiki.creeper.farmGather.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import wiki.creeper.farmGather.player.HoeSkill;
+import wiki.creeper.farmGather.player.HoeSkillType;
+import wiki.creeper.farmGather.player.PlayerProfile;
+import wiki.creeper.farmGather.player.ProfileField;
+
+/**
+ * Round-trips random profiles through the binary codec and checks the result against the Redis hash
+ * and SQL column mappings, then feeds the decoder truncated, unknown and corrupt input.
+ */
+class ProfileBinaryCodecTest {
+    private static final long SEED = 0x5EEDF00DL;
+    private static final int ROUNDS = 2_000;
+    private static final int MAGIC = 0xFA;
+
+    @Test
+    void randomProfilesMatchHashAndColumnMappings() throws SQLException {
+        Random random = new Random(SEED);
+        for (int round = 0; round < ROUNDS; round++) {
+            PlayerProfile original = randomProfile(random);
+            Map<String, String> expected = RedisPlayerDataStore.serializeProfile(original, ProfileField.ALL_MASK);
+
+            PlayerProfile binary = ProfileBinaryCodec.decode(original.getUuid(), ProfileBinaryCodec.encode(original));
+            PlayerProfile hash = hashRoundTrip(original);
+            PlayerProfile columns = columnRoundTrip(original);
+
+            assertEquals(expected, RedisPlayerDataStore.serializeProfile(binary, ProfileField.ALL_MASK), "binary, round " + round);
+            assertEquals(expected, RedisPlayerDataStore.serializeProfile(hash, ProfileField.ALL_MASK), "hash, round " + round);
+            assertEquals(expected, RedisPlayerDataStore.serializeProfile(columns, ProfileField.ALL_MASK), "columns, round " + round);
+            assertFalse(binary.isDirty(), "decoded profile must be clean, round " + round);
+        }
+    }
+
+    @Test
+    void encodingIsStable() {
+        Random random = new Random(SEED);
+        for (int round = 0; round < ROUNDS; round++) {
+            PlayerProfile original = randomProfile(random);
+            byte[] encoded = ProfileBinaryCodec.encode(original);
+            byte[] reencoded = ProfileBinaryCodec.encode(ProfileBinaryCodec.decode(original.getUuid(), encoded));
+            assertArrayEquals(encoded, reencoded, "round " + round);
+        }
+    }
+
+    @Test
+    void truncatedInputFailsWithIllegalArgument() {
+        Random random = new Random(SEED);
+        UUID uuid = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, new byte[] {(byte) MAGIC}));
+        for (int round = 0; round < 200; round++) {
+            byte[] encoded = ProfileBinaryCodec.encode(randomProfile(random));
+            for (int length = 2; length < encoded.length; length++) {
+                byte[] prefix = Arrays.copyOf(encoded, length);
+                try {
+                    // Cutting at an entry boundary is a valid blob with fewer fields.
+                    ProfileBinaryCodec.decode(uuid, prefix);
+                } catch (IllegalArgumentException expected) {
+                    // truncated mid-entry
+                }
+            }
+        }
+    }
+
+    @Test
+    void truncatedEntryIsRejected() {
+        UUID uuid = UUID.randomUUID();
+        Blob blob = new Blob().header(ProfileBinaryCodec.VERSION);
+        blob.tag(ProfileField.XP.ordinal() + 1, 1).raw(1, 2, 3);
+        assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, blob.bytes()));
+
+        Blob bytes = new Blob().header(ProfileBinaryCodec.VERSION);
+        bytes.tag(ProfileField.GUILD_ID.ordinal() + 1, 2).varint(10).raw('a', 'b');
+        assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, bytes.bytes()));
+    }
+
+    @Test
+    void unknownFieldNumbersAreSkipped() {
+        UUID uuid = UUID.randomUUID();
+        int unknown = ProfileField.values().length + 7;
+        Blob blob = new Blob().header(ProfileBinaryCodec.VERSION);
+        blob.tag(unknown, 0).varint(123_456_789L);
+        blob.tag(unknown, 1).raw(1, 2, 3, 4, 5, 6, 7, 8);
+        blob.tag(unknown, 2).varint(3).raw('x', 'y', 'z');
+        blob.tag(unknown, 5).raw(1, 2, 3, 4);
+        blob.tag(ProfileField.LEVEL.ordinal() + 1, 0).varint(zigzag(42));
+        blob.tag(ProfileField.GUILD_ID.ordinal() + 1, 2).string("guild");
+
+        PlayerProfile profile = ProfileBinaryCodec.decode(uuid, blob.bytes());
+        assertEquals(42, profile.getLevel());
+        assertEquals("guild", profile.getGuildId());
+    }
+
+    @Test
+    void knownFieldWithWrongWireTypeIsSkipped() {
+        UUID uuid = UUID.randomUUID();
+        Blob blob = new Blob().header(ProfileBinaryCodec.VERSION);
+        blob.tag(ProfileField.LEVEL.ordinal() + 1, 1).raw(9, 9, 9, 9, 9, 9, 9, 9);
+        blob.tag(ProfileField.XP.ordinal() + 1, 0).varint(77);
+        blob.tag(ProfileField.COMBO_COUNT.ordinal() + 1, 0).varint(zigzag(5));
+
+        PlayerProfile profile = ProfileBinaryCodec.decode(uuid, blob.bytes());
+        PlayerProfile defaults = new PlayerProfile(uuid);
+        assertEquals(defaults.getLevel(), profile.getLevel());
+        assertEquals(defaults.getXp(), profile.getXp());
+        assertEquals(5, profile.getComboCount());
+    }
+
+    @Test
+    void unknownWireTypesAreRejected() {
+        UUID uuid = UUID.randomUUID();
+        for (int wireType : new int[] {3, 4, 6, 7}) {
+            for (int number : new int[] {ProfileField.LEVEL.ordinal() + 1, ProfileField.values().length + 1}) {
+                Blob blob = new Blob().header(ProfileBinaryCodec.VERSION);
+                blob.tag(number, wireType).raw(0, 0, 0, 0, 0, 0, 0, 0);
+                assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, blob.bytes()),
+                        "wire type " + wireType + ", field " + number);
+            }
+        }
+    }
+
+    @Test
+    void badMagicOrVersionIsRejected() {
+        UUID uuid = UUID.randomUUID();
+        byte[] encoded = ProfileBinaryCodec.encode(randomProfile(new Random(SEED)));
+
+        byte[] badMagic = encoded.clone();
+        badMagic[0] = (byte) (MAGIC ^ 0xFF);
+        assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, badMagic));
+
+        byte[] badVersion = encoded.clone();
+        badVersion[1] = 0;
+        assertThrows(IllegalArgumentException.class, () -> ProfileBinaryCodec.decode(uuid, badVersion));
+
+        // Newer writers only append fields, so a higher version must still decode.
+        byte[] newerVersion = encoded.clone();
+        newerVersion[1] = (byte) (ProfileBinaryCodec.VERSION + 1);
+        assertEquals(
+                RedisPlayerDataStore.serializeProfile(ProfileBinaryCodec.decode(uuid, encoded), ProfileField.ALL_MASK),
+                RedisPlayerDataStore.serializeProfile(ProfileBinaryCodec.decode(uuid, newerVersion), ProfileField.ALL_MASK));
+    }
+
+    @Test
+    void randomGarbageOnlyFailsWithIllegalArgument() {
+        Random random = new Random(SEED);
+        UUID uuid = UUID.randomUUID();
+        for (int round = 0; round < ROUNDS; round++) {
+            byte[] garbage = new byte[random.nextInt(64)];
+            random.nextBytes(garbage);
+            if (garbage.length >= 2 && random.nextBoolean()) {
+                garbage[0] = (byte) MAGIC;
+                garbage[1] = (byte) ProfileBinaryCodec.VERSION;
+            }
+            try {
+                ProfileBinaryCodec.decode(uuid, garbage);
+            } catch (IllegalArgumentException expected) {
+                // corrupt blob
+            }
+        }
+    }
+
+    private static PlayerProfile randomProfile(Random random) {
+        PlayerProfile profile = new PlayerProfile(new UUID(random.nextLong(), random.nextLong()));
+        profile.setLevel(randomInt(random));
+        profile.setXp(randomDouble(random));
+        profile.setMastery(randomDouble(random));
+        profile.setEnergy(randomDouble(random));
+        profile.setLastEnergyTick(randomLong(random));
+        profile.setLastHarvestAt(randomLong(random));
+        profile.setActionCooldownEnd(randomLong(random));
+        profile.setLastBlockType(randomString(random));
+        profile.setComboCount(randomInt(random));
+        profile.setComboExpireAt(randomLong(random));
+        // Every store drops an override that is not fully set, so only generate consistent ones.
+        if (random.nextBoolean()) {
+            profile.setComboOverride(1.0 + random.nextDouble() * 30.0, 1L + (random.nextLong() >>> 2));
+        }
+        profile.setLastYaw((random.nextFloat() - 0.5f) * 360.0f);
+        profile.setLastPitch((random.nextFloat() - 0.5f) * 180.0f);
+        profile.setLastTargetDistance(randomDouble(random));
+        for (HoeSkillType type : HoeSkillType.values()) {
+            if (random.nextBoolean()) {
+                profile.setSkill(new HoeSkill(type, 1 + random.nextInt(random.nextBoolean() ? 10 : Integer.MAX_VALUE)));
+            }
+        }
+        profile.setGuildId(randomString(random));
+        profile.setLastGuildHarvestAt(randomLong(random));
+        return profile;
+    }
+
+    private static int randomInt(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 0;
+            case 1 -> random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            case 2 -> random.nextInt(100);
+            default -> random.nextInt();
+        };
+    }
+
+    private static long randomLong(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 0L;
+            case 1 -> random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE;
+            case 2 -> System.currentTimeMillis() + random.nextInt(1_000_000);
+            default -> random.nextLong();
+        };
+    }
+
+    private static double randomDouble(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> 0.0;
+            case 1 -> -0.0;
+            case 2 -> random.nextBoolean() ? Double.MAX_VALUE : Double.MIN_VALUE;
+            case 3 -> random.nextDouble() * 1_000.0;
+            default -> (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+        };
+    }
+
+    // The binary format does not distinguish "" from absent; the plugin never stores empty strings.
+    private static String randomString(Random random) {
+        if (random.nextInt(4) == 0) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(24);
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(random.nextInt(3) == 0 ? 0xAC00 + random.nextInt(0x2BA4) : 'a' + random.nextInt(26));
+        }
+        return builder.toString();
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static PlayerProfile hashRoundTrip(PlayerProfile original) {
+        PlayerProfile profile = new PlayerProfile(original.getUuid());
+        RedisPlayerDataStore.applyProfile(profile, RedisPlayerDataStore.serializeProfile(original, ProfileField.ALL_MASK));
+        return profile;
+    }
+
+    private static PlayerProfile columnRoundTrip(PlayerProfile original) throws SQLException {
+        Map<Integer, Object> bound = new HashMap<>();
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2) {
+                        bound.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ProfileField[] fields = ProfileField.values();
+        for (int i = 0; i < fields.length; i++) {
+            JdbcPlayerDataStore.bindField(statement, i + 1, fields[i], original);
+        }
+
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            row.put(fields[i].key(), bound.get(i + 1));
+        }
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    if (args == null || args.length != 1 || !(args[0] instanceof String column) || !row.containsKey(column)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = row.get(column);
+                    return switch (method.getName()) {
+                        case "getString" -> value;
+                        case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                        case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                        case "getFloat" -> value == null ? 0.0f : ((Number) value).floatValue();
+                        case "getDouble" -> value == null ? 0.0 : ((Number) value).doubleValue();
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        return JdbcPlayerDataStore.mapColumns(original.getUuid(), resultSet);
+    }
+
+    private static final class Blob {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Blob header(int version) {
+            out.write(MAGIC);
+            out.write(version);
+            return this;
+        }
+
+        Blob tag(int number, int wireType) {
+            return varint(((long) number << 3) | wireType);
+        }
+
+        Blob varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+            return this;
+        }
+
+        Blob string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        Blob raw(int... values) {
+            for (int value : values) {
+                out.write(value);
+            }
+            return this;
+        }
+
+        byte[] bytes() {
+            return out.toByteArray();
+        }
+    }
+}
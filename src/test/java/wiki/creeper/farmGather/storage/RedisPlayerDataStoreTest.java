@@ -0,0 +1,66 @@
+package wiki.creeper.farmGather.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import wiki.creeper.farmGather.player.PlayerProfile;
+import wiki.creeper.farmGather.player.ProfileField;
+
+/**
+ * Covers the write path when a partial hash update finds the profile hash missing.
+ */
+class RedisPlayerDataStoreTest {
+
+    @Test
+    void partialWriteToMissingHashIsResentAsFullWrite() {
+        PlayerProfile profile = new PlayerProfile(UUID.randomUUID());
+        profile.setXp(123.5);
+        long dirty = ProfileField.XP.mask();
+        List<RedisPlayerDataStore.ProfileWrite> writes = List.of(new RedisPlayerDataStore.ProfileWrite(profile, dirty));
+
+        List<RedisPlayerDataStore.ProfileWrite> rewrites = RedisPlayerDataStore.rejectedPartialWrites(writes, List.of(0L));
+
+        assertEquals(1, rewrites.size());
+        assertSame(profile, rewrites.get(0).profile());
+        assertEquals(ProfileField.ALL_MASK, rewrites.get(0).fields());
+
+        List<String> args = RedisPlayerDataStore.scriptArgs(profile, rewrites.get(0).fields());
+        assertEquals("1", args.get(0), "the resend must be flagged as a full write");
+        List<String> pairs = args.subList(2, 2 + Integer.parseInt(args.get(1)) * 2);
+        assertTrue(pairs.contains("uuid"), "a full write carries the uuid marker");
+        for (ProfileField field : ProfileField.values()) {
+            String key = field.key();
+            boolean written = pairs.contains(key);
+            boolean cleared = args.subList(2 + pairs.size(), args.size()).contains(key);
+            assertTrue(written || cleared, "field " + key + " missing from the full write");
+        }
+    }
+
+    @Test
+    void appliedWritesAreNotResent() {
+        PlayerProfile applied = new PlayerProfile(UUID.randomUUID());
+        PlayerProfile refused = new PlayerProfile(UUID.randomUUID());
+        List<RedisPlayerDataStore.ProfileWrite> writes = List.of(
+                new RedisPlayerDataStore.ProfileWrite(applied, ProfileField.LEVEL.mask()),
+                new RedisPlayerDataStore.ProfileWrite(refused, ProfileField.LEVEL.mask() | ProfileField.ENERGY.mask()));
+
+        List<RedisPlayerDataStore.ProfileWrite> rewrites =
+                RedisPlayerDataStore.rejectedPartialWrites(writes, Arrays.asList(1L, 0L));
+
+        assertEquals(1, rewrites.size());
+        assertSame(refused, rewrites.get(0).profile());
+    }
+
+    @Test
+    void partialWriteArgsAreNotFlaggedFull() {
+        PlayerProfile profile = new PlayerProfile(UUID.randomUUID());
+        List<String> args = RedisPlayerDataStore.scriptArgs(profile, ProfileField.LEVEL.mask());
+        assertEquals("0", args.get(0));
+        assertEquals(List.of("0", "1", "level", "1"), args);
+    }
+}
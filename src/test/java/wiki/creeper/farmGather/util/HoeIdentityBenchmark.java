@@ -0,0 +1,92 @@
+package wiki.creeper.farmGather.util;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainerView;
+import org.bukkit.persistence.PersistentDataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import wiki.creeper.farmGather.player.HoeSkillType;
+
+/**
+ * Tag reads for one hoe click: the old per-helper lookups, each building its own {@link NamespacedKey},
+ * against one {@link ItemUtil#readIdentity} pass over cached keys.
+ *
+ * <p>Creating an {@code ItemStack} needs a running server, so both sides read the same map-backed
+ * container directly. The old helpers also copied the item meta once per call, which this leaves out;
+ * the real per-click drop is larger than what is measured here.
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main HoeIdentityBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoeIdentityBenchmark {
+    private static final String NAMESPACE = "creeperfarmgather";
+
+    private ItemUtil.Keys keys;
+    private PersistentDataContainerView container;
+
+    @Setup
+    public void setup() {
+        keys = new ItemUtil.Keys(NAMESPACE);
+        Map<NamespacedKey, Object> values = new HashMap<>();
+        values.put(new NamespacedKey(NAMESPACE, "hoe"), (byte) 1);
+        values.put(new NamespacedKey(NAMESPACE, "uid"), UUID.randomUUID().toString());
+        values.put(new NamespacedKey(NAMESPACE, "owner"), UUID.randomUUID().toString());
+        values.put(new NamespacedKey(NAMESPACE, "hoe_skill_type"), "sweep");
+        values.put(new NamespacedKey(NAMESPACE, "hoe_skill_level"), 3);
+        container = container(values);
+    }
+
+    @Benchmark
+    public void perHelperLookups(Blackhole blackhole) {
+        Byte hoe = container.get(new NamespacedKey(NAMESPACE, "hoe"), PersistentDataType.BYTE);
+        blackhole.consume(hoe != null && hoe == 1);
+        blackhole.consume(container.get(new NamespacedKey(NAMESPACE, "uid"), PersistentDataType.STRING));
+        String owner = container.get(new NamespacedKey(NAMESPACE, "owner"), PersistentDataType.STRING);
+        blackhole.consume(owner == null ? null : UUID.fromString(owner));
+        String type = container.get(new NamespacedKey(NAMESPACE, "hoe_skill_type"), PersistentDataType.STRING);
+        Integer level = container.get(new NamespacedKey(NAMESPACE, "hoe_skill_level"), PersistentDataType.INTEGER);
+        blackhole.consume(type == null || level == null ? null : HoeSkillType.fromKey(type));
+        Byte hud = container.get(new NamespacedKey(NAMESPACE, "hud_token"), PersistentDataType.BYTE);
+        blackhole.consume(hud != null && hud == 1);
+    }
+
+    @Benchmark
+    public HoeIdentity singlePass() {
+        return ItemUtil.readIdentity(container, keys);
+    }
+
+    // PersistentDataContainerView has no public implementation outside the server; reads only need get()
+    private static PersistentDataContainerView container(Map<NamespacedKey, Object> values) {
+        return (PersistentDataContainerView) Proxy.newProxyInstance(
+                PersistentDataContainerView.class.getClassLoader(),
+                new Class<?>[]{PersistentDataContainerView.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("get")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return values.get(args[0]);
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package wiki.creeper.farmGather.util;
+
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Combo boss bar title for one harvest: the old replace chain, {@code String.format} and legacy
+ * deserialization against rendering the template compiled at reload.
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TextTemplateBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextTemplateBenchmark {
+    // shipped title_format from config.yml
+    private static final String TITLE_FORMAT = "&e{combo}콤보 [&a+{bonus}%보너스] &a{cur}&7/&a{next}&a [+{gain}경험치]";
+
+    private TextTemplate template;
+    private int combo;
+    private double bonus;
+    private int gain;
+    private int level;
+    private double xp;
+    private int next;
+
+    @Setup
+    public void setup() {
+        template = TextTemplate.compile(TITLE_FORMAT, "combo", "bonus", "gain", "level", "cur", "next");
+        combo = 37;
+        bonus = 0.15;
+        gain = 12;
+        level = 8;
+        xp = 341.6;
+        next = 900;
+    }
+
+    @Benchmark
+    public Component replaceAndDeserialize() {
+        String formatted = TITLE_FORMAT
+                .replace("{combo}", Integer.toString(combo))
+                .replace("{bonus}", String.format("%.0f", Math.max(0, bonus) * 100.0))
+                .replace("{gain}", Integer.toString(Math.max(0, gain)))
+                .replace("{level}", Integer.toString(level))
+                .replace("{cur}", Integer.toString((int) Math.round(xp)))
+                .replace("{next}", Integer.toString(next));
+        return Text.colorize(formatted);
+    }
+
+    @Benchmark
+    public Component precompiled() {
+        return template.render(
+                Integer.toString(combo),
+                Long.toString(Math.round(Math.max(0, bonus) * 100.0)),
+                Integer.toString(Math.max(0, gain)),
+                Integer.toString(level),
+                Integer.toString((int) Math.round(xp)),
+                Integer.toString(next));
+    }
+}
@@ -0,0 +1,44 @@
+package wiki.creeper.farmGather.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+class TextTemplateTest {
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.builder()
+            .character('&')
+            .hexCharacter('#')
+            .build();
+
+    @Test
+    void rendersPlaceholdersInOrder() {
+        TextTemplate template = TextTemplate.compile("&a{combo}x &7(+{bonus}%)", "combo", "bonus");
+        assertEquals("&a12x &7(+5%)", legacy(template.render("12", "5")));
+    }
+
+    @Test
+    void privateUseGlyphsStayLiteral() {
+        // Resource-pack icon fonts usually start at U+E000, the first characters a placeholder could use.
+        String glyphs = "";
+        TextTemplate template = TextTemplate.compile("&e" + glyphs + " {combo} {bonus} {gain}", "combo", "bonus", "gain");
+        assertEquals("&e" + glyphs + " 1 2 3", legacy(template.render("1", "2", "3")));
+    }
+
+    @Test
+    void glyphsBetweenPlaceholdersStayLiteral() {
+        TextTemplate template = TextTemplate.compile("{a}{b}", "a", "b");
+        assertEquals("xy", legacy(template.render("x", "y")));
+    }
+
+    @Test
+    void undeclaredPlaceholdersStayLiteral() {
+        TextTemplate template = TextTemplate.compile("&c{sec}s {other}", "sec");
+        assertEquals("&c3s {other}", legacy(template.render("3")));
+    }
+
+    private static String legacy(Component component) {
+        return LEGACY.serialize(component);
+    }
+}